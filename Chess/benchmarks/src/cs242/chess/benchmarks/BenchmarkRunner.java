@@ -0,0 +1,43 @@
+package cs242.chess.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the chess benchmarks with the GC profiler, which adds the bytes allocated per operation (gc.alloc.rate.norm) and per second
+ * (gc.alloc.rate) to the throughput of every benchmark. The benchmarks need the JMH core and annotation processor jars on the class
+ * path when they are compiled, and the engine in ../src:
+ *
+ * <pre>
+ * javac -cp jmh-core.jar:jmh-generator-annprocess.jar:../src -d build src/cs242/chess/benchmarks/*.java
+ * java -cp build:jmh-core.jar:jopt-simple.jar:commons-math3.jar:../src cs242.chess.benchmarks.BenchmarkRunner [regex]
+ * </pre>
+ *
+ * The images in "Chess Pictures" are not needed; nothing is drawn.
+ *
+ * @author REN-JAY_2
+ *
+ */
+public final class BenchmarkRunner {
+
+	/**
+	 * Only the main method.
+	 */
+	private BenchmarkRunner() {
+	}
+
+	/**
+	 * Runs the benchmarks.
+	 *
+	 * @param args optionally a regular expression for the benchmarks to run, such as "MoveGeneration.copy". All of them are run otherwise.
+	 * @throws RunnerException if JMH fails to run a benchmark
+	 */
+	public static void main(String[] args) throws RunnerException {
+		String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*Benchmark";
+		Options options = new OptionsBuilder().include(include).addProfiler(GCProfiler.class).build();
+		new Runner(options).run();
+	}
+}
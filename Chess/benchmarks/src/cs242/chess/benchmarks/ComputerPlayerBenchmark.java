@@ -0,0 +1,74 @@
+package cs242.chess.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cs242.chess.ChessBoard;
+import cs242.chess.ComputerPlayer;
+
+/**
+ * A benchmark of ComputerPlayer.findMove, the search behind ComputerPlayer.move. The search is stopped by a node limit instead of the
+ * move time, so every call does the same work and the score measures the speed of the search rather than the clock. findMove does not
+ * change the board, so the board and player are made once, and only the transposition table is emptied before every call.
+ *
+ * @author REN-JAY_2
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComputerPlayerBenchmark {
+
+	@Param({ Fixtures.START, Fixtures.MIDDLEGAME, Fixtures.SHOCKWAVE, Fixtures.ENDGAME })
+	public String position;
+
+	@Param({ "20000" })
+	public long nodeLimit;
+
+	private ComputerPlayer player;
+
+	/**
+	 * Creates the board and a computer player for the side to move.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		ChessBoard board = Fixtures.createBoard(position);
+		player = new ComputerPlayer(Fixtures.getSideToMove(board), board, "Benchmark");
+		player.setMoveTime(0);
+		player.setNodeLimit(nodeLimit);
+	}
+
+	/**
+	 * Empties the transposition table, so every search starts from nothing as the first move of a game does. This is not part of the
+	 * measured time.
+	 */
+	@Setup(Level.Invocation)
+	public void clearTable() {
+		player.clearTable();
+	}
+
+	/**
+	 * Searches for a move.
+	 *
+	 * @return the encoded move
+	 */
+	@Benchmark
+	public int findMove() {
+		return player.findMove();
+	}
+}
@@ -0,0 +1,118 @@
+package cs242.chess.benchmarks;
+
+import java.awt.Color;
+
+import cs242.chess.BitBoard;
+import cs242.chess.ChessBoard;
+import cs242.chess.Move;
+import cs242.chess.MoveList;
+import cs242.chess.Perft;
+import cs242.chess.pieces.ChessPiece;
+
+/**
+ * The positions the benchmarks are run on, written in the text format of Perft.createBoard. Every position has an Exile for the side to
+ * move, so the board copying check of ChessPlayer can be measured on all of them.
+ *
+ * @author REN-JAY_2
+ *
+ */
+public final class Fixtures {
+
+	public static final String START = "start";
+	public static final String MIDDLEGAME = "middlegame";
+	public static final String SHOCKWAVE = "shockwave";
+	public static final String ENDGAME = "endgame";
+
+	/**
+	 * The start position of setChessBoard and addNewPieces.
+	 */
+	private static final String START_POSITION = Perft.START_POSITION;
+
+	/**
+	 * A developed position with every kind of piece, where most pieces can move.
+	 */
+	private static final String MIDDLEGAME_POSITION = "r2qk2r/pop2xbp/2np1n2/4p3/2B1P3/2NP1N2/PXP2OPP/R1BQK2R w";
+
+	/**
+	 * Both Exiles are charged and a Boo has absorbed a Knight and a Bishop, so most of the moves are the slow variant cases.
+	 */
+	private static final String SHOCKWAVE_POSITION = "r3k2r/p1p2p1p/1o[nb]2x*3/8/3X*4/2N2N2/PP3PPP/R3K2R w";
+
+	/**
+	 * Few pieces, with the kings free to move, so king moves are a large part of the moves.
+	 */
+	private static final String ENDGAME_POSITION = "8/2k1x3/8/1p6/1P2O3/8/3X1K2/8 w";
+
+	/**
+	 * Only static methods.
+	 */
+	private Fixtures() {
+	}
+
+	/**
+	 * Creates the board of a fixture position.
+	 *
+	 * @param name START, MIDDLEGAME, SHOCKWAVE or ENDGAME
+	 * @return a new board with the position
+	 * @throws IllegalArgumentException if there is no fixture with the name
+	 */
+	public static ChessBoard createBoard(String name) {
+		if (name.equals(START)) {
+			return Perft.createBoard(START_POSITION);
+		} else if (name.equals(MIDDLEGAME)) {
+			return Perft.createBoard(MIDDLEGAME_POSITION);
+		} else if (name.equals(SHOCKWAVE)) {
+			return Perft.createBoard(SHOCKWAVE_POSITION);
+		} else if (name.equals(ENDGAME)) {
+			return Perft.createBoard(ENDGAME_POSITION);
+		}
+		throw new IllegalArgumentException("No fixture named " + name);
+	}
+
+	/**
+	 * Returns the color of the side to move of a board.
+	 *
+	 * @param board the board
+	 * @return Color.WHITE or Color.BLACK
+	 */
+	public static Color getSideToMove(ChessBoard board) {
+		return board.getSideToMove() == BitBoard.WHITE ? Color.WHITE : Color.BLACK;
+	}
+
+	/**
+	 * Returns a legal move of the side to move made by a type of piece. A quiet move is chosen when there is one, as most of the moves
+	 * the game looks at are quiet.
+	 *
+	 * @param board the board
+	 * @param type the type of the moving piece, or ChessPiece.NONE for any piece
+	 * @return the encoded move
+	 * @throws IllegalArgumentException if the side to move has no legal move with that type of piece
+	 */
+	public static int findMove(ChessBoard board, int type) {
+		MoveList moves = new MoveList();
+		board.generateLegalMoves(board.getSideToMove(), moves, false);
+		int bestMove = Move.NONE;
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			boolean quieter = bestMove == Move.NONE || Move.isCapture(bestMove) && !Move.isCapture(move);
+			if ((type == ChessPiece.NONE || Move.getMoverType(move) == type) && quieter) {
+				bestMove = move;
+			}
+		}
+		if (bestMove == Move.NONE) {
+			throw new IllegalArgumentException("No legal move for piece type " + type);
+		}
+		return bestMove;
+	}
+
+	/**
+	 * Returns the piece that makes an encoded move.
+	 *
+	 * @param board the board
+	 * @param move the encoded move
+	 * @return the moving piece
+	 */
+	public static ChessPiece getPiece(ChessBoard board, int move) {
+		return board.getSpace(Move.getFrom(move)).getPiece();
+	}
+}
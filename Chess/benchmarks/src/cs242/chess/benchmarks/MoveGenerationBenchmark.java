@@ -0,0 +1,128 @@
+package cs242.chess.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cs242.chess.Board;
+import cs242.chess.CaptureSpace;
+import cs242.chess.ChessBoard;
+import cs242.chess.ChessPlayer;
+import cs242.chess.ChessSpace;
+import cs242.chess.Move;
+import cs242.chess.pieces.ChessPiece;
+
+/**
+ * Benchmarks of the methods the game calls on every move: listing the moves of a side, checking whether a move leaves the king in
+ * check, copying the board and looking for checkmate and stalemate. Every benchmark leaves the board as it found it, so one board is
+ * used for a whole trial.
+ *
+ * @author REN-JAY_2
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+
+	@Param({ Fixtures.START, Fixtures.MIDDLEGAME, Fixtures.SHOCKWAVE, Fixtures.ENDGAME })
+	public String position;
+
+	private ChessBoard board;
+	private ChessPlayer player;
+	private ArrayList<ChessPiece> pieces;
+	private ChessPiece piece; // makes a quiet move of the side to move
+	private ChessSpace targetSpace;
+	private int exileMove; // a move of an Exile of the side to move
+
+	/**
+	 * Creates the board and the player of the side to move, and chooses the moves that are checked.
+	 */
+	@Setup
+	public void setUp() {
+		board = Fixtures.createBoard(position);
+		player = new ChessPlayer(Fixtures.getSideToMove(board), board, "Benchmark");
+		pieces = player.getPieces();
+		int move = Fixtures.findMove(board, ChessPiece.NONE);
+		piece = Fixtures.getPiece(board, move);
+		targetSpace = board.getSpace(Move.getTo(move));
+		exileMove = Fixtures.findMove(board, ChessPiece.EXILE);
+	}
+
+	/**
+	 * Lists the pseudo-legal moves of the side to move with ChessBoard.findPossibleMoves.
+	 *
+	 * @return the moves, so that the work is not thrown away
+	 */
+	@Benchmark
+	public ArrayList<CaptureSpace> findPossibleMoves() {
+		return board.findPossibleMoves(pieces);
+	}
+
+	/**
+	 * Lists the legal moves of the side to move with ChessPlayer.getPossibleMoves.
+	 *
+	 * @return the moves, so that the work is not thrown away
+	 */
+	@Benchmark
+	public ArrayList<CaptureSpace> getPossibleMoves() {
+		return player.getPossibleMoves();
+	}
+
+	/**
+	 * Checks a quiet move with ChessPlayer.moveLeavesKingInCheck, which makes the move on the board and takes it back.
+	 *
+	 * @return whether the move leaves the king in check
+	 */
+	@Benchmark
+	public boolean moveLeavesKingInCheck() {
+		return player.moveLeavesKingInCheck(piece, targetSpace);
+	}
+
+	/**
+	 * Checks an Exile move the way it is checked on a copy of the board: the board is copied, the move is made on the copy with moveTo,
+	 * and the copy is searched for a capture of the king.
+	 *
+	 * @return whether the move leaves the king in check
+	 */
+	@Benchmark
+	public boolean moveLeavesKingInCheckCopy() {
+		ChessBoard testBoard = (ChessBoard) board.copy();
+		ChessPiece exile = Fixtures.getPiece(testBoard, exileMove);
+		return player.moveLeavesKingInCheck(testBoard, exile, testBoard.getSpace(Move.getTo(exileMove)));
+	}
+
+	/**
+	 * Copies the board with ChessBoard.copy.
+	 *
+	 * @return the copy, so that the work is not thrown away
+	 */
+	@Benchmark
+	public Board<ChessSpace> copy() {
+		return board.copy();
+	}
+
+	/**
+	 * Looks for checkmate and stalemate with ChessPlayer.checkEndConditions, as the game does after every move.
+	 *
+	 * @return 1 for checkmate, 2 for stalemate and 0 otherwise
+	 */
+	@Benchmark
+	public int checkEndConditions() {
+		return player.checkEndConditions();
+	}
+}
@@ -0,0 +1,103 @@
+package cs242.chess;
+
+/**
+ * A map from every square of a standard 8x8 board to the pieces of each color that attack it. The map keeps the attack mask of the piece on
+ * each square, and for each square and color the mask of the squares of the pieces attacking it. The ChessBoard updates the map whenever a
+ * space changes, so that a danger query is a single array read instead of a list of every opponent move.
+ *
+ * @author REN-JAY_2
+ *
+ */
+public class AttackMap {
+
+	private long[][] attackers; // for each color and square, the squares of the pieces of that color attacking it
+	private long[] attacks; // the attack mask of the piece on each square
+	private int[] sides; // the color index of the piece on each square
+
+	/**
+	 * Constructs an empty AttackMap.
+	 */
+	public AttackMap() {
+		attackers = new long[2][BitBoard.SIZE * BitBoard.SIZE];
+		attacks = new long[BitBoard.SIZE * BitBoard.SIZE];
+		sides = new int[BitBoard.SIZE * BitBoard.SIZE];
+	}
+
+	/**
+	 * Removes all pieces from the AttackMap.
+	 */
+	public void clear() {
+		for (int square = 0; square < attacks.length; square++) {
+			attackers[BitBoard.WHITE][square] = 0;
+			attackers[BitBoard.BLACK][square] = 0;
+			attacks[square] = 0;
+		}
+	}
+
+	/**
+	 * Records the attacks of the piece on a square. Any attacks already recorded for the square are replaced.
+	 *
+	 * @param square the square index of the piece
+	 * @param colorIndex the color of the piece
+	 * @param mask the mask of the squares the piece attacks
+	 */
+	public void set(int square, int colorIndex, long mask) {
+		remove(square);
+		attacks[square] = mask;
+		sides[square] = colorIndex;
+		long bit = 1L << square;
+		long[] colorAttackers = attackers[colorIndex];
+		while (mask != 0) {
+			colorAttackers[Long.numberOfTrailingZeros(mask)] |= bit;
+			mask &= mask - 1;
+		}
+	}
+
+	/**
+	 * Removes the attacks recorded for a square.
+	 *
+	 * @param square the square index
+	 */
+	public void remove(int square) {
+		long mask = attacks[square];
+		long bit = ~(1L << square);
+		long[] colorAttackers = attackers[sides[square]];
+		while (mask != 0) {
+			colorAttackers[Long.numberOfTrailingZeros(mask)] &= bit;
+			mask &= mask - 1;
+		}
+		attacks[square] = 0;
+	}
+
+	/**
+	 * Returns the mask of the squares of the pieces of a color that attack a square.
+	 *
+	 * @param square the square index
+	 * @param colorIndex the color of the attacking pieces
+	 * @return the mask of the attacking pieces' squares
+	 */
+	public long getAttackers(int square, int colorIndex) {
+		return attackers[colorIndex][square];
+	}
+
+	/**
+	 * Returns the number of pieces of a color that attack a square.
+	 *
+	 * @param square the square index
+	 * @param colorIndex the color of the attacking pieces
+	 * @return the number of attackers
+	 */
+	public int getAttackerCount(int square, int colorIndex) {
+		return Long.bitCount(attackers[colorIndex][square]);
+	}
+
+	/**
+	 * Returns the mask of the squares attacked by the piece on a square.
+	 *
+	 * @param square the square index
+	 * @return the attack mask, or 0 if the square is empty
+	 */
+	public long getAttacks(int square) {
+		return attacks[square];
+	}
+}
@@ -0,0 +1,259 @@
+package cs242.chess;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Precomputed attack tables for a standard 8x8 board, indexed by BitBoard square indices. Leaping moves (King, Knight, Pawn captures and
+ * the Exile's shockwave) are stored as one mask per square. Sliding moves (Rook, Bishop and Queen) use magic bitboards: the relevant
+ * occupancy of a square is multiplied by a magic number and shifted down to an index into a table of attack masks, so that each lookup is
+ * a mask, a multiply and a shift. The magic numbers are found once, with a fixed seed, when the class is loaded.
+ *
+ * @author REN-JAY_2
+ *
+ */
+public final class AttackTables {
+
+	private static final int SQUARES = BitBoard.SIZE * BitBoard.SIZE;
+
+	private static final int[][] KING_STEPS = { { -1, -1 }, { -1, 0 }, { -1, 1 }, { 0, -1 }, { 0, 1 }, { 1, -1 }, { 1, 0 }, { 1, 1 } };
+	private static final int[][] KNIGHT_STEPS = { { -2, -1 }, { -2, 1 }, { -1, -2 }, { -1, 2 }, { 1, -2 }, { 1, 2 }, { 2, -1 }, { 2, 1 } };
+	private static final int[][] SHOCKWAVE_STEPS = { { -2, -1 }, { -2, 0 }, { -2, 1 }, { 2, -1 }, { 2, 0 }, { 2, 1 }, { -1, -2 }, { 0, -2 },
+			{ 1, -2 }, { -1, 2 }, { 0, 2 }, { 1, 2 } };
+	private static final int[][] ROOK_DIRECTIONS = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
+	private static final int[][] BISHOP_DIRECTIONS = { { -1, -1 }, { -1, 1 }, { 1, -1 }, { 1, 1 } };
+
+	private static final long[] KING = new long[SQUARES];
+	private static final long[] KNIGHT = new long[SQUARES];
+	private static final long[] SHOCKWAVE = new long[SQUARES];
+	private static final long[][] PAWN = new long[2][SQUARES]; // indexed by Pawn direction (0 - down, 1 - up)
+
+	private static final long[] ROOK_MASKS = new long[SQUARES];
+	private static final long[] ROOK_MAGICS = new long[SQUARES];
+	private static final int[] ROOK_SHIFTS = new int[SQUARES];
+	private static final long[][] ROOK_ATTACKS = new long[SQUARES][];
+
+	private static final long[] BISHOP_MASKS = new long[SQUARES];
+	private static final long[] BISHOP_MAGICS = new long[SQUARES];
+	private static final int[] BISHOP_SHIFTS = new int[SQUARES];
+	private static final long[][] BISHOP_ATTACKS = new long[SQUARES][];
+
+	private static final long[][] BETWEEN = new long[SQUARES][SQUARES];
+
+	static {
+		for (int square = 0; square < SQUARES; square++) {
+			KING[square] = leaperMask(square, KING_STEPS);
+			KNIGHT[square] = leaperMask(square, KNIGHT_STEPS);
+			SHOCKWAVE[square] = leaperMask(square, SHOCKWAVE_STEPS);
+			PAWN[0][square] = leaperMask(square, new int[][] { { 1, -1 }, { 1, 1 } });
+			PAWN[1][square] = leaperMask(square, new int[][] { { -1, -1 }, { -1, 1 } });
+		}
+		Random random = new Random(242);
+		for (int square = 0; square < SQUARES; square++) {
+			initMagic(square, ROOK_DIRECTIONS, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_ATTACKS, random);
+			initMagic(square, BISHOP_DIRECTIONS, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_ATTACKS, random);
+		}
+		for (int from = 0; from < SQUARES; from++) {
+			for (int to = 0; to < SQUARES; to++) {
+				long blockers = (1L << from) | (1L << to);
+				if ((rookAttacks(from, 0) & (1L << to)) != 0) {
+					BETWEEN[from][to] = rookAttacks(from, blockers) & rookAttacks(to, blockers);
+				} else if ((bishopAttacks(from, 0) & (1L << to)) != 0) {
+					BETWEEN[from][to] = bishopAttacks(from, blockers) & bishopAttacks(to, blockers);
+				}
+			}
+		}
+	}
+
+	private AttackTables() {
+	}
+
+	/**
+	 * Returns the squares a King (or any king step) on a square can reach.
+	 *
+	 * @param square the square index
+	 * @return the mask of reachable squares
+	 */
+	public static long kingAttacks(int square) {
+		return KING[square];
+	}
+
+	/**
+	 * Returns the squares a Knight on a square can reach.
+	 *
+	 * @param square the square index
+	 * @return the mask of reachable squares
+	 */
+	public static long knightAttacks(int square) {
+		return KNIGHT[square];
+	}
+
+	/**
+	 * Returns the squares an Exile on a square can target with a shockwave. These are the squares two rows or two columns away that are not
+	 * two away in both.
+	 *
+	 * @param square the square index
+	 * @return the mask of shockwave targets
+	 */
+	public static long shockwaveTargets(int square) {
+		return SHOCKWAVE[square];
+	}
+
+	/**
+	 * Returns the two diagonal squares a Pawn on a square can capture on.
+	 *
+	 * @param square the square index
+	 * @param direction the direction of the Pawn. 0 - down, 1 - up
+	 * @return the mask of capture squares
+	 */
+	public static long pawnAttacks(int square, int direction) {
+		return PAWN[direction][square];
+	}
+
+	/**
+	 * Returns the squares a Rook on a square can reach, given the occupied squares of the board. The first occupied square in each direction
+	 * is included.
+	 *
+	 * @param square the square index
+	 * @param occupied the mask of occupied squares
+	 * @return the mask of reachable squares
+	 */
+	public static long rookAttacks(int square, long occupied) {
+		return ROOK_ATTACKS[square][(int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+	}
+
+	/**
+	 * Returns the squares a Bishop on a square can reach, given the occupied squares of the board. The first occupied square in each
+	 * direction is included.
+	 *
+	 * @param square the square index
+	 * @param occupied the mask of occupied squares
+	 * @return the mask of reachable squares
+	 */
+	public static long bishopAttacks(int square, long occupied) {
+		return BISHOP_ATTACKS[square][(int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+	}
+
+	/**
+	 * Returns the squares a Queen on a square can reach, given the occupied squares of the board.
+	 *
+	 * @param square the square index
+	 * @param occupied the mask of occupied squares
+	 * @return the mask of reachable squares
+	 */
+	public static long queenAttacks(int square, long occupied) {
+		return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+	}
+
+	/**
+	 * Returns the squares strictly between two squares that share a row, column or diagonal.
+	 *
+	 * @param from the first square index
+	 * @param to the second square index
+	 * @return the mask of squares between them, or 0 if they are not on a common line
+	 */
+	public static long between(int from, int to) {
+		return BETWEEN[from][to];
+	}
+
+	/**
+	 * A helper method that builds the mask of all on-board squares a fixed set of steps away from a square.
+	 *
+	 * @param square the square index
+	 * @param steps the row and column offsets
+	 * @return the mask of squares
+	 */
+	private static long leaperMask(int square, int[][] steps) {
+		int row = square / BitBoard.SIZE;
+		int col = square % BitBoard.SIZE;
+		long mask = 0;
+		for (int[] step : steps) {
+			int targetRow = row + step[0];
+			int targetCol = col + step[1];
+			if (onBoard(targetRow, targetCol)) {
+				mask |= BitBoard.bit(targetRow, targetCol);
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * A helper method that walks the rays of a sliding piece square by square. It is only used to fill the tables.
+	 *
+	 * @param square the square index
+	 * @param directions the row and column steps of each ray
+	 * @param occupied the mask of occupied squares
+	 * @param relevantOnly true to leave out the last square of each ray, giving the occupancy mask of the square
+	 * @return the mask of squares
+	 */
+	private static long slide(int square, int[][] directions, long occupied, boolean relevantOnly) {
+		long mask = 0;
+		for (int[] direction : directions) {
+			int row = square / BitBoard.SIZE + direction[0];
+			int col = square % BitBoard.SIZE + direction[1];
+			while (onBoard(row, col)) {
+				if (relevantOnly && !onBoard(row + direction[0], col + direction[1])) {
+					break;
+				}
+				mask |= BitBoard.bit(row, col);
+				if ((occupied & BitBoard.bit(row, col)) != 0) {
+					break;
+				}
+				row += direction[0];
+				col += direction[1];
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * A helper method that finds a magic number for one square and fills its attack table.
+	 */
+	private static void initMagic(int square, int[][] directions, long[] masks, long[] magics, int[] shifts, long[][] attacks,
+			Random random) {
+		long mask = slide(square, directions, 0, true);
+		int bits = Long.bitCount(mask);
+		int size = 1 << bits;
+		long[] occupancies = new long[size];
+		long[] reference = new long[size];
+		long subset = 0;
+		for (int i = 0; i < size; i++) { // enumerate every subset of the mask
+			occupancies[i] = subset;
+			reference[i] = slide(square, directions, subset, false);
+			subset = (subset - mask) & mask;
+		}
+		long[] table = new long[size];
+		boolean[] used = new boolean[size];
+		while (true) {
+			long magic = random.nextLong() & random.nextLong() & random.nextLong();
+			if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) {
+				continue;
+			}
+			Arrays.fill(used, false);
+			boolean failed = false;
+			for (int i = 0; i < size && !failed; i++) {
+				int index = (int) ((occupancies[i] * magic) >>> (64 - bits));
+				if (!used[index]) {
+					used[index] = true;
+					table[index] = reference[i];
+				} else if (table[index] != reference[i]) {
+					failed = true;
+				}
+			}
+			if (!failed) {
+				masks[square] = mask;
+				magics[square] = magic;
+				shifts[square] = 64 - bits;
+				attacks[square] = table;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns whether or not a row and column are on an 8x8 board.
+	 */
+	private static boolean onBoard(int row, int col) {
+		return row >= 0 && row < BitBoard.SIZE && col >= 0 && col < BitBoard.SIZE;
+	}
+}
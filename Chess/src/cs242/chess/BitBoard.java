@@ -0,0 +1,181 @@
+package cs242.chess;
+
+import java.awt.Color;
+
+import cs242.chess.pieces.ChessPiece;
+import cs242.chess.pieces.Pawn;
+
+/**
+ * A bitboard representation of a standard 8x8 chess position. Each square is mapped to one bit of a long, where the square index is
+ * row * 8 + col. The class keeps one occupancy mask per color and one per piece type (as given by ChessPiece.getType()), as well as a mask
+ * of the Pawns that move up the board. The ChessBoard keeps its BitBoard in sync with its ChessSpaces, so the masks can be read at any time.
+ *
+ * @author REN-JAY_2
+ *
+ */
+public class BitBoard {
+
+	public static final int WHITE = 0;
+	public static final int BLACK = 1;
+	public static final int SIZE = 8;
+
+	private long[] colors;
+	private long[] types;
+	private long upPawns; // Pawns with direction 1
+	private int[] squareTypes; // the type of the piece on each square, or ChessPiece.NONE
+
+	/**
+	 * Constructs an empty BitBoard.
+	 */
+	public BitBoard() {
+		colors = new long[2];
+		types = new long[ChessPiece.TYPE_COUNT];
+		squareTypes = new int[SIZE * SIZE];
+	}
+
+	/**
+	 * Returns the color index used by the BitBoard for a given color. Every color other than white is treated as black.
+	 *
+	 * @param color the color of a piece
+	 * @return WHITE or BLACK
+	 */
+	public static int colorIndex(Color color) {
+		return Color.WHITE.equals(color) ? WHITE : BLACK;
+	}
+
+	/**
+	 * Returns the square index of a row and column.
+	 *
+	 * @param row the row index
+	 * @param col the column index
+	 * @return the square index
+	 */
+	public static int square(int row, int col) {
+		return row * SIZE + col;
+	}
+
+	/**
+	 * Returns the mask with only the bit of the given row and column set.
+	 *
+	 * @param row the row index
+	 * @param col the column index
+	 * @return the mask of the square
+	 */
+	public static long bit(int row, int col) {
+		return 1L << square(row, col);
+	}
+
+	/**
+	 * Removes all pieces from the BitBoard.
+	 */
+	public void clear() {
+		colors[WHITE] = 0;
+		colors[BLACK] = 0;
+		for (int i = 0; i < types.length; i++) {
+			types[i] = 0;
+		}
+		upPawns = 0;
+		for (int i = 0; i < squareTypes.length; i++) {
+			squareTypes[i] = ChessPiece.NONE;
+		}
+	}
+
+	/**
+	 * Adds a piece to a square. The square is expected to be empty.
+	 *
+	 * @param piece the piece to add
+	 * @param square the square index
+	 */
+	public void add(ChessPiece piece, int square) {
+		long mask = 1L << square;
+		colors[piece.getSide()] |= mask;
+		types[piece.getType()] |= mask;
+		if (piece instanceof Pawn && ((Pawn) piece).getDirection() == 1) {
+			upPawns |= mask;
+		}
+		squareTypes[square] = piece.getType();
+	}
+
+	/**
+	 * Removes whatever piece is on a square.
+	 *
+	 * @param square the square index
+	 */
+	public void remove(int square) {
+		long mask = ~(1L << square);
+		colors[WHITE] &= mask;
+		colors[BLACK] &= mask;
+		types[squareTypes[square]] &= mask;
+		upPawns &= mask;
+		squareTypes[square] = ChessPiece.NONE;
+	}
+
+	/**
+	 * Returns the mask of all occupied squares.
+	 *
+	 * @return the occupancy mask
+	 */
+	public long getOccupied() {
+		return colors[WHITE] | colors[BLACK];
+	}
+
+	/**
+	 * Returns the mask of all squares occupied by a color.
+	 *
+	 * @param colorIndex WHITE or BLACK
+	 * @return the occupancy mask of the color
+	 */
+	public long getColor(int colorIndex) {
+		return colors[colorIndex];
+	}
+
+	/**
+	 * Returns the mask of all squares occupied by a type of piece, of either color.
+	 *
+	 * @param type one of the ChessPiece type constants
+	 * @return the occupancy mask of the type
+	 */
+	public long getType(int type) {
+		return types[type];
+	}
+
+	/**
+	 * Returns the mask of all squares occupied by a type of piece of a given color.
+	 *
+	 * @param colorIndex WHITE or BLACK
+	 * @param type one of the ChessPiece type constants
+	 * @return the occupancy mask
+	 */
+	public long getPieces(int colorIndex, int type) {
+		return colors[colorIndex] & types[type];
+	}
+
+	/**
+	 * Returns the mask of all Pawns that are moving up the board (direction 1).
+	 *
+	 * @return the mask of upward Pawns
+	 */
+	public long getUpPawns() {
+		return upPawns;
+	}
+
+	/**
+	 * Returns the type of the piece on a square.
+	 *
+	 * @param square the square index
+	 * @return the type of the piece, or ChessPiece.NONE if the square is empty
+	 */
+	public int getSquareType(int square) {
+		return squareTypes[square];
+	}
+
+	/**
+	 * Returns whether or not a square is occupied.
+	 *
+	 * @param square the square index
+	 * @return true if there is a piece on the square, false otherwise
+	 */
+	public boolean isOccupied(int square) {
+		return squareTypes[square] != ChessPiece.NONE;
+	}
+}
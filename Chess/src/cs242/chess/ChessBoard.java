@@ -23,6 +23,17 @@ import cs242.chess.pieces.Rook;
 public class ChessBoard implements Board<ChessSpace> {
 
 	private ChessSpace[][] dimensions;
+	private BitBoard bitBoard; // only kept for standard 8x8 boards
+	private AttackMap attackMap; // only kept for standard 8x8 boards, and only while it is enabled
+	private long hash; // the Zobrist hash of the position, only kept for standard 8x8 boards
+	private long[] squareKeys = new long[BitBoard.SIZE * BitBoard.SIZE]; // the Zobrist key of the piece on each square
+	private int sideToMove = BitBoard.WHITE;
+	private Evaluator evaluator = new PieceSquareEvaluator(); // only kept up to date on standard 8x8 boards
+	private long[] targetBuffer = new long[16]; // reused by findPossibleMoves to hold the targets of each piece
+	private MoveRecord[] moveRecords = new MoveRecord[32]; // the undo stack of makeMove. Records are reused once created.
+	private int moveCount;
+	private long[] pinRays = new long[BitBoard.SIZE * BitBoard.SIZE]; // for each pinned piece, the squares it may move to
+	private int[] exchangeGains = new int[BitBoard.SIZE * BitBoard.SIZE]; // reused by staticExchange
 
 	/**
 	 * A default constructor that assumes the board has 8x8 dimensions.
@@ -39,6 +50,10 @@ public class ChessBoard implements Board<ChessSpace> {
 	 */
 	public ChessBoard(int row, int col) {
 		dimensions = new ChessSpace[row][col];
+		if (row == BitBoard.SIZE && col == BitBoard.SIZE) {
+			bitBoard = new BitBoard();
+			attackMap = new AttackMap();
+		}
 		clear();
 	}
 
@@ -62,6 +77,10 @@ public class ChessBoard implements Board<ChessSpace> {
 	 */
 	public void setPointValue(int row, int col, ChessSpace value) {
 		dimensions[row][col] = value;
+		if (value != null) {
+			value.setBoard(this);
+			updateSquare(row, col, value.getPiece());
+		}
 	}
 
 	/**
@@ -90,6 +109,229 @@ public class ChessBoard implements Board<ChessSpace> {
 	 */
 	public void setDimensions(ChessSpace[][] newDimensions) {
 		dimensions = newDimensions;
+		if (getLength() == BitBoard.SIZE && getWidth() == BitBoard.SIZE) {
+			bitBoard = new BitBoard();
+			attackMap = new AttackMap();
+		} else {
+			bitBoard = null;
+			attackMap = null;
+		}
+		hash = sideToMove == BitBoard.BLACK ? Zobrist.sideKey() : 0;
+		squareKeys = new long[BitBoard.SIZE * BitBoard.SIZE];
+		evaluator.clear();
+		for (int i = 0; i < getLength(); i++) {
+			for (int j = 0; j < getWidth(); j++) {
+				getPointValue(i, j).setBoard(this);
+				updateSquare(i, j, getPointValue(i, j).getPiece());
+			}
+		}
+	}
+
+	/**
+	 * Returns the bitboard representation of the board. The bitboard is only kept for standard 8x8 boards.
+	 * 
+	 * @return the BitBoard, or null if the board is not 8x8
+	 */
+	public BitBoard getBitBoard() {
+		return bitBoard;
+	}
+
+	/**
+	 * Returns the 64-bit Zobrist hash of the position, including the side to move. The hash is kept up to date as pieces move, so two
+	 * positions with different hashes are different. The hash is only kept for standard 8x8 boards.
+	 * 
+	 * @return the hash of the position
+	 */
+	public long getHash() {
+		return hash;
+	}
+
+	/**
+	 * Returns the side to move. makeMove and unmakeMove switch it; moves made through ChessPiece.moveTo do not.
+	 * 
+	 * @return BitBoard.WHITE or BitBoard.BLACK
+	 */
+	public int getSideToMove() {
+		return sideToMove;
+	}
+
+	/**
+	 * Sets the side to move.
+	 * 
+	 * @param colorIndex BitBoard.WHITE or BitBoard.BLACK
+	 */
+	public void setSideToMove(int colorIndex) {
+		if (colorIndex != sideToMove) {
+			switchSideToMove();
+		}
+	}
+
+	/**
+	 * Passes the move to the other side without moving a piece, for the null move pruning of a search. Take it back with unmakeNullMove.
+	 */
+	public void makeNullMove() {
+		switchSideToMove();
+	}
+
+	/**
+	 * Takes back a null move.
+	 */
+	public void unmakeNullMove() {
+		switchSideToMove();
+	}
+
+	/**
+	 * A helper method that passes the move to the other side.
+	 */
+	private void switchSideToMove() {
+		sideToMove = 1 - sideToMove;
+		hash ^= Zobrist.sideKey();
+	}
+
+	/**
+	 * Returns the evaluator that scores the positions of the board.
+	 * 
+	 * @return the Evaluator
+	 */
+	public Evaluator getEvaluator() {
+		return evaluator;
+	}
+
+	/**
+	 * Sets the evaluator that scores the positions of the board. The evaluator is cleared and given every piece on the board, and from then
+	 * on it is told of every change. Only standard 8x8 boards keep their evaluator up to date.
+	 * 
+	 * @param newEvaluator the new Evaluator
+	 */
+	public void setEvaluator(Evaluator newEvaluator) {
+		evaluator = newEvaluator;
+		evaluator.clear();
+		if (bitBoard == null) {
+			return;
+		}
+		for (int square = 0; square < BitBoard.SIZE * BitBoard.SIZE; square++) {
+			evaluator.update(square, getSpace(square).getPiece());
+		}
+	}
+
+	/**
+	 * Scores the position with the board's Evaluator, from the point of view of the side to move. This is only available on standard 8x8
+	 * boards.
+	 * 
+	 * @return the score in hundredths of a Pawn, positive if the side to move is better
+	 */
+	public int evaluate() {
+		return evaluator.evaluate(sideToMove);
+	}
+
+	/**
+	 * Returns the map of attacked squares of the board. The map is only kept for standard 8x8 boards, while it is enabled.
+	 * 
+	 * @return the AttackMap, or null if there is none
+	 */
+	public AttackMap getAttackMap() {
+		return attackMap;
+	}
+
+	/**
+	 * Turns the incremental upkeep of the AttackMap on or off. Keeping the map costs a little on every change to the board, so a board
+	 * that only needs a few attack queries per move (such as a search board making many moves) may turn it off and use
+	 * isSquareAttacked(int, int) instead. When the map is turned on it is rebuilt from the current position. The method does nothing on
+	 * boards that are not 8x8.
+	 * 
+	 * @param enabled true to keep the map, false to drop it
+	 */
+	public void setAttackMapEnabled(boolean enabled) {
+		if (bitBoard == null || enabled == (attackMap != null)) {
+			return;
+		}
+		if (!enabled) {
+			attackMap = null;
+			return;
+		}
+		attackMap = new AttackMap();
+		long pieces = bitBoard.getOccupied();
+		while (pieces != 0) {
+			int square = Long.numberOfTrailingZeros(pieces);
+			ChessPiece piece = getSpace(square).getPiece();
+			attackMap.set(square, piece.getSide(), getAttacks(piece, square, bitBoard.getOccupied()));
+			pieces &= pieces - 1;
+		}
+	}
+
+	/**
+	 * Returns the ChessSpace at a bitboard square index. This should only be used on standard 8x8 boards.
+	 * 
+	 * @param square the square index (row * 8 + col)
+	 * @return the ChessSpace at the square
+	 */
+	public ChessSpace getSpace(int square) {
+		return dimensions[square / BitBoard.SIZE][square % BitBoard.SIZE];
+	}
+
+	/**
+	 * Returns whether or not there is a piece on a given space of the board.
+	 * 
+	 * @param row the row index
+	 * @param col the column index
+	 * @return true if the space has a piece on it, false otherwise
+	 */
+	public boolean isOccupied(int row, int col) {
+		if (bitBoard != null) {
+			return bitBoard.isOccupied(BitBoard.square(row, col));
+		}
+		return getPointValue(row, col).getPiece() != null;
+	}
+
+	/**
+	 * Called by a ChessSpace of the board whenever its piece changes. It keeps the bitboard representation in sync with the ChessSpaces.
+	 * 
+	 * @param space the space that changed
+	 */
+	void spaceChanged(ChessSpace space) {
+		updateSquare(space.getRow(), space.getCol(), space.getPiece());
+	}
+
+	/**
+	 * A helper method that records the piece on a space in the bitboard representation, the Zobrist hash, the Evaluator and the AttackMap.
+	 * Besides the piece on the space itself, only the sliding pieces that attack the space can attack differently afterwards, since the
+	 * space may now block them or let them through.
+	 * 
+	 * @param row the row index of the space
+	 * @param col the column index of the space
+	 * @param piece the piece now on the space (can be null)
+	 */
+	private void updateSquare(int row, int col, ChessPiece piece) {
+		if (bitBoard == null) {
+			return;
+		}
+		int square = BitBoard.square(row, col);
+		bitBoard.remove(square);
+		if (piece != null) {
+			bitBoard.add(piece, square);
+		}
+		hash ^= squareKeys[square];
+		squareKeys[square] = Zobrist.pieceKey(piece, square);
+		hash ^= squareKeys[square];
+		evaluator.update(square, piece);
+		if (attackMap == null) {
+			return;
+		}
+		long occupied = bitBoard.getOccupied();
+		if (piece != null) {
+			attackMap.set(square, piece.getSide(), getAttacks(piece, square, occupied));
+		} else {
+			attackMap.remove(square);
+		}
+		long sliders = bitBoard.getType(ChessPiece.BISHOP) | bitBoard.getType(ChessPiece.ROOK) | bitBoard.getType(ChessPiece.QUEEN)
+				| bitBoard.getType(ChessPiece.BOO);
+		long affected = (attackMap.getAttackers(square, BitBoard.WHITE) | attackMap.getAttackers(square, BitBoard.BLACK)) & sliders;
+		while (affected != 0) {
+			int from = Long.numberOfTrailingZeros(affected);
+			ChessPiece slider = getSpace(from).getPiece();
+			attackMap.set(from, slider.getSide(), getAttacks(slider, from, occupied));
+			affected &= affected - 1;
+		}
 	}
 
 	/**
@@ -99,6 +341,7 @@ public class ChessBoard implements Board<ChessSpace> {
 	 */
 	public Board<ChessSpace> copy() {
 		ChessBoard newBoard = new ChessBoard(getLength(), getWidth());
+		newBoard.setEvaluator(evaluator.create());
 		for (int i = 0; i < getLength(); i++) {
 			for (int j = 0; j < getWidth(); j++) {
 				if (getPointValue(i, j).getPiece() != null) {
@@ -164,6 +407,666 @@ public class ChessBoard implements Board<ChessSpace> {
 
 	}
 
+	/**
+	 * Makes a move that can be taken back with unmakeMove, promoting Pawns to a Queen. See makeMove(ChessPiece, ChessSpace, int).
+	 * 
+	 * @param piece the piece that is moving
+	 * @param targetSpace the space the piece is moving to
+	 */
+	public void makeMove(ChessPiece piece, ChessSpace targetSpace) {
+		makeMove(piece, targetSpace, ChessPiece.QUEEN);
+	}
+
+	/**
+	 * Makes a move that can be taken back with unmakeMove. The move follows the same rules as the pieces' moveTo methods: Boo absorbs the
+	 * piece it captures, Exile counts its captures and fires a shockwave when it can, and a Pawn reaching the last row is promoted. Instead
+	 * of asking the user for the promotion, the new piece type is given. Everything the move changes is recorded in a MoveRecord, so no
+	 * board copy is needed to take the move back. The move passes to the other side. The method does not check if the move is allowed or
+	 * not.
+	 * 
+	 * @param piece the piece that is moving
+	 * @param targetSpace the space the piece is moving to
+	 * @param promotionType the type a Pawn is promoted to if it reaches the last row (ChessPiece.QUEEN, ROOK, KNIGHT or BISHOP)
+	 */
+	public void makeMove(ChessPiece piece, ChessSpace targetSpace, int promotionType) {
+		if (moveCount == moveRecords.length) {
+			MoveRecord[] newRecords = new MoveRecord[2 * moveRecords.length];
+			System.arraycopy(moveRecords, 0, newRecords, 0, moveRecords.length);
+			moveRecords = newRecords;
+		}
+		if (moveRecords[moveCount] == null) {
+			moveRecords[moveCount] = new MoveRecord();
+		}
+		MoveRecord record = moveRecords[moveCount++];
+		ChessSpace originalSpace = piece.getSpace();
+		ChessPiece targetPiece = targetSpace.getPiece();
+		record.piece = piece;
+		record.originalSpace = originalSpace;
+		record.targetSpace = targetSpace;
+		record.captured = null;
+		record.promoted = null;
+		record.value = piece.getValue();
+		record.captureCount = 0;
+		record.shockwave = false;
+		record.shockwaveCount = 0;
+		switchSideToMove();
+
+		int currentRow = originalSpace.getRow();
+		int currentCol = originalSpace.getCol();
+		int targetRow = targetSpace.getRow();
+		int targetCol = targetSpace.getCol();
+		if (piece instanceof Exile) {
+			Exile exile = (Exile) piece;
+			record.captureCount = exile.getCaptureCount();
+			if (exile.getCaptureCount() >= 3
+					&& Exile.isShockwave(Math.abs(targetRow - currentRow), Math.abs(targetCol - currentCol))) {
+				// the Exile stays where it is and removes the enemy pieces in the cone
+				record.shockwave = true;
+				for (int[] offset : Exile.getShockwaveCone(currentRow, currentCol, targetRow, targetCol)) {
+					int row = currentRow + offset[0];
+					int col = currentCol + offset[1];
+					if (row < 0 || row >= getLength() || col < 0 || col >= getWidth()) {
+						continue;
+					}
+					ChessPiece victim = getPointValue(row, col).getPiece();
+					if (victim != null && victim.getSide() != piece.getSide()) {
+						record.shockwaveVictims[record.shockwaveCount] = victim;
+						record.shockwaveSpaces[record.shockwaveCount++] = getPointValue(row, col);
+						getPointValue(row, col).setPiece(null);
+					}
+				}
+				exile.setCaptureCount(0);
+				spaceChanged(originalSpace);
+				return;
+			}
+			if (targetPiece != null && targetPiece.getSide() != piece.getSide()) {
+				exile.setCaptureCount(exile.getCaptureCount() + 1);
+			}
+		}
+		if (targetPiece != null) {
+			record.captured = targetPiece;
+			if (piece instanceof Boo) {
+				((Boo) piece).getCaptured().add(targetPiece);
+				piece.setValue(piece.getValue() + targetPiece.getValue());
+			}
+		}
+		piece.generalMoveTo(targetSpace);
+		if (piece instanceof Pawn && Pawn.isPromotionRow(targetRow, ((Pawn) piece).getDirection())) {
+			record.promoted = getPromotion(record, promotionType, piece.getSide(), targetSpace);
+			targetSpace.setPiece(record.promoted);
+		}
+	}
+
+	/**
+	 * A helper method that returns the piece a Pawn is promoted to by the move of a record. Each record keeps the pieces it has promoted
+	 * to, so a search that tries the same promotion many times does not create a new piece every time. A record is only reused after its
+	 * move was taken back, so its pieces are off the board by then.
+	 * 
+	 * @param record the record of the move
+	 * @param promotionType the type the Pawn is promoted to
+	 * @param side the side of the Pawn
+	 * @param space the space the Pawn is promoted on
+	 * @return the promoted piece, placed on the space
+	 */
+	private ChessPiece getPromotion(MoveRecord record, int promotionType, int side, ChessSpace space) {
+		int type = promotionType >= ChessPiece.KNIGHT && promotionType <= ChessPiece.ROOK ? promotionType : ChessPiece.QUEEN;
+		ChessPiece promoted = record.promotions[side][type];
+		if (promoted == null) {
+			promoted = Pawn.createPromotion(type, side, space);
+			record.promotions[side][type] = promoted;
+		}
+		promoted.setSpace(space);
+		return promoted;
+	}
+
+	/**
+	 * Makes a move encoded as an int (see Move) that can be taken back with unmakeMove.
+	 * 
+	 * @param move the encoded move
+	 */
+	public void makeMove(int move) {
+		int promotionType = Move.getPromotionType(move);
+		makeMove(getSpace(Move.getFrom(move)).getPiece(), getSpace(Move.getTo(move)),
+				promotionType == ChessPiece.NONE ? ChessPiece.QUEEN : promotionType);
+	}
+
+	/**
+	 * Returns the total value of the enemy pieces an encoded move removes from the board: the captured piece, or every enemy piece in the
+	 * cone of an Exile's shockwave. The value of a Boo includes the pieces it has absorbed. This is only available on standard 8x8 boards.
+	 * 
+	 * @param move the encoded move, which has not been made yet
+	 * @return the value of the pieces removed, or 0 for a quiet move
+	 */
+	public int getCaptureValue(int move) {
+		int to = Move.getTo(move);
+		if (!Move.isShockwave(move)) {
+			ChessPiece captured = getSpace(to).getPiece();
+			return captured == null ? 0 : captured.getValue();
+		}
+		int from = Move.getFrom(move);
+		int row = from / BitBoard.SIZE;
+		int col = from % BitBoard.SIZE;
+		long enemies = bitBoard.getColor(1 - getSpace(from).getPiece().getSide());
+		int value = 0;
+		for (int[] offset : Exile.getShockwaveCone(row, col, to / BitBoard.SIZE, to % BitBoard.SIZE)) {
+			int targetRow = row + offset[0];
+			int targetCol = col + offset[1];
+			if (targetRow >= 0 && targetRow < BitBoard.SIZE && targetCol >= 0 && targetCol < BitBoard.SIZE
+					&& (enemies & BitBoard.bit(targetRow, targetCol)) != 0) {
+				value += getPointValue(targetRow, targetCol).getPiece().getValue();
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Encodes the move of a piece to a space as an int (see Move). This is only available on standard 8x8 boards.
+	 * 
+	 * @param piece the piece that is moving. It must be on the board.
+	 * @param targetSpace the space the piece is moving to
+	 * @param promotionType the type a Pawn is promoted to if it reaches the last row
+	 * @return the encoded move
+	 */
+	public int encodeMove(ChessPiece piece, ChessSpace targetSpace, int promotionType) {
+		int from = BitBoard.square(piece.getSpace().getRow(), piece.getSpace().getCol());
+		int to = BitBoard.square(targetSpace.getRow(), targetSpace.getCol());
+		boolean shockwave = false;
+		if (piece instanceof Exile && ((Exile) piece).getCaptureCount() >= 3) {
+			shockwave = Exile.isShockwave(Math.abs(to / BitBoard.SIZE - from / BitBoard.SIZE),
+					Math.abs(to % BitBoard.SIZE - from % BitBoard.SIZE));
+		}
+		if (!(piece instanceof Pawn) || !Pawn.isPromotionRow(to / BitBoard.SIZE, ((Pawn) piece).getDirection())) {
+			promotionType = ChessPiece.NONE;
+		}
+		return Move.create(from, to, piece.getType(), bitBoard.getSquareType(to), promotionType, shockwave);
+	}
+
+	/**
+	 * Adds every pseudo-legal move of a color to a MoveList: moves that follow the pieces' move rules and do not capture a piece of the
+	 * same color, without checking whether they leave the king in check. Pawns reaching the last row get one move for each promotion. This
+	 * is only available on standard 8x8 boards.
+	 * 
+	 * @param colorIndex BitBoard.WHITE or BitBoard.BLACK
+	 * @param moves the list the moves are added to. It is not cleared first.
+	 * @param captureOnly true to only add captures, shockwaves and Queen promotions
+	 */
+	public void generateMoves(int colorIndex, MoveList moves, boolean captureOnly) {
+		long pieces = bitBoard.getColor(colorIndex);
+		while (pieces != 0) {
+			generateMoves(getSpace(Long.numberOfTrailingZeros(pieces)).getPiece(), moves, captureOnly);
+			pieces &= pieces - 1;
+		}
+	}
+
+	/**
+	 * Adds every pseudo-legal move of a single piece to a MoveList.
+	 * 
+	 * @param piece the piece that is moving. It must be on the board.
+	 * @param moves the list the moves are added to. It is not cleared first.
+	 * @param captureOnly true to only add captures, shockwaves and Queen promotions
+	 */
+	public void generateMoves(ChessPiece piece, MoveList moves, boolean captureOnly) {
+		int from = BitBoard.square(piece.getSpace().getRow(), piece.getSpace().getCol());
+		int type = piece.getType();
+		long targets = getMoveTargets(piece, false, captureOnly);
+		long shockwaves = 0;
+		if (type == ChessPiece.EXILE && ((Exile) piece).getCaptureCount() >= 3) {
+			shockwaves = AttackTables.shockwaveTargets(from) & ~bitBoard.getColor(piece.getSide());
+			targets |= shockwaves; // a shockwave at an empty square can still hit enemy pieces
+		}
+		boolean promotes = type == ChessPiece.PAWN
+				&& Pawn.isPromotionRow(from / BitBoard.SIZE + (((Pawn) piece).getDirection() == 1 ? -1 : 1), ((Pawn) piece).getDirection());
+		long quietPromotions = 0;
+		if (promotes && captureOnly) { // a Queen promotion gains as much as a capture, even when it captures nothing
+			quietPromotions = getMoveTargets(piece, false, false) & ~targets;
+			targets |= quietPromotions;
+		}
+		while (targets != 0) {
+			int to = Long.numberOfTrailingZeros(targets);
+			int capturedType = bitBoard.getSquareType(to);
+			if ((quietPromotions & (1L << to)) != 0) {
+				moves.add(Move.create(from, to, type, capturedType, ChessPiece.QUEEN, false));
+			} else if (promotes) {
+				moves.add(Move.create(from, to, type, capturedType, ChessPiece.QUEEN, false));
+				moves.add(Move.create(from, to, type, capturedType, ChessPiece.ROOK, false));
+				moves.add(Move.create(from, to, type, capturedType, ChessPiece.BISHOP, false));
+				moves.add(Move.create(from, to, type, capturedType, ChessPiece.KNIGHT, false));
+			} else {
+				moves.add(Move.create(from, to, type, capturedType, ChessPiece.NONE, (shockwaves & (1L << to)) != 0));
+			}
+			targets &= targets - 1;
+		}
+	}
+
+	/**
+	 * Adds every legal move of a color to a MoveList: the pseudo-legal moves of generateMoves that do not leave the king in check. Instead
+	 * of trying every move, the checking pieces and the pieces pinned to the king are found once. A move of a pinned piece must stay on
+	 * the line of its pin, and when the king is in check a move must capture the checking piece or block its line. Only king moves, Exile
+	 * shockwaves (which can uncover the king in other ways) and checks by a Boo are tried with makeMove. This is only available on standard
+	 * 8x8 boards.
+	 * 
+	 * @param colorIndex BitBoard.WHITE or BitBoard.BLACK
+	 * @param moves the list the moves are added to. It is not cleared first.
+	 * @param captureOnly true to only add captures, shockwaves and Queen promotions
+	 */
+	public void generateLegalMoves(int colorIndex, MoveList moves, boolean captureOnly) {
+		int start = moves.size();
+		generateMoves(colorIndex, moves, captureOnly);
+		removeIllegalMoves(colorIndex, moves, start);
+	}
+
+	/**
+	 * Adds every legal move of a single piece to a MoveList. See generateLegalMoves(int, MoveList, boolean).
+	 * 
+	 * @param piece the piece that is moving. It must be on the board.
+	 * @param moves the list the moves are added to. It is not cleared first.
+	 * @param captureOnly true to only add captures, shockwaves and Queen promotions
+	 */
+	public void generateLegalMoves(ChessPiece piece, MoveList moves, boolean captureOnly) {
+		int start = moves.size();
+		generateMoves(piece, moves, captureOnly);
+		removeIllegalMoves(piece.getSide(), moves, start);
+	}
+
+	/**
+	 * A helper method that removes the moves that leave the king of a color in check from the end of a MoveList. The order of the
+	 * remaining moves is not kept.
+	 * 
+	 * @param colorIndex the color of the moving pieces
+	 * @param moves the list of moves
+	 * @param start the index of the first move to check
+	 */
+	private void removeIllegalMoves(int colorIndex, MoveList moves, int start) {
+		long kings = bitBoard.getPieces(colorIndex, ChessPiece.KING);
+		if (kings == 0 || moves.size() == start) {
+			return; // no king to protect
+		}
+		int kingSquare = Long.numberOfTrailingZeros(kings);
+		long occupied = bitBoard.getOccupied();
+		long own = bitBoard.getColor(colorIndex);
+		long checkers = getAttackers(kingSquare, 1 - colorIndex);
+		long evasions = -1L; // the squares a non-king move must go to
+		boolean tryAll = (checkers & bitBoard.getType(ChessPiece.BOO)) != 0; // a Boo can check in more than one way at once
+		if (checkers != 0) {
+			int checkerSquare = Long.numberOfTrailingZeros(checkers);
+			evasions = checkers;
+			if (Long.bitCount(checkers) == 1 && slidesTowards(getSpace(checkerSquare).getPiece(), checkerSquare, kingSquare)) {
+				evasions |= AttackTables.between(checkerSquare, kingSquare);
+			} else if (Long.bitCount(checkers) > 1) {
+				evasions = 0; // only the king can escape a double check
+			}
+		}
+		// find the pinned pieces. A piece is pinned if it is the only piece between the king and an enemy piece sliding towards it
+		long pinned = 0;
+		long enemies = bitBoard.getColor(1 - colorIndex) & (AttackTables.queenAttacks(kingSquare, 0));
+		while (enemies != 0) {
+			int enemySquare = Long.numberOfTrailingZeros(enemies);
+			long between = AttackTables.between(kingSquare, enemySquare);
+			long blockers = between & occupied;
+			if (Long.bitCount(blockers) == 1 && (blockers & own) != 0 && slidesTowards(getSpace(enemySquare).getPiece(), enemySquare, kingSquare)) {
+				pinned |= blockers;
+				pinRays[Long.numberOfTrailingZeros(blockers)] = between | (1L << enemySquare);
+			}
+			enemies &= enemies - 1;
+		}
+		for (int i = moves.size() - 1; i >= start; i--) {
+			int move = moves.get(i);
+			int from = Move.getFrom(move);
+			long to = 1L << Move.getTo(move);
+			boolean legal;
+			if (tryAll || Move.getMoverType(move) == ChessPiece.KING || Move.isShockwave(move)) {
+				makeMove(move);
+				legal = !isKingAttacked(colorIndex);
+				unmakeMove();
+			} else {
+				legal = (evasions & to) != 0 && ((pinned & (1L << from)) == 0 || (pinRays[from] & to) != 0);
+			}
+			if (!legal) {
+				moves.remove(i);
+			}
+		}
+	}
+
+	/**
+	 * Returns the mask of the squares of all pieces of a color that can move to a given square, assuming there is an enemy piece on it.
+	 * The attackers are found by looking outwards from the square: a Knight attacks the square if a Knight step from the square lands on
+	 * it, a Rook or Queen if a rook ray from the square ends on it, and so on. Only Boo and charged Exile pieces, which move in more than
+	 * one way, are checked one by one. This is only available on standard 8x8 boards.
+	 * 
+	 * @param square the square index
+	 * @param colorIndex the color of the attacking pieces
+	 * @return the mask of the attacking pieces' squares
+	 */
+	public long getAttackers(int square, int colorIndex) {
+		long occupied = bitBoard.getOccupied() | (1L << square);
+		long attackers = getTableAttackers(square, colorIndex, occupied);
+		long pieces = bitBoard.getPieces(colorIndex, ChessPiece.BOO) | (bitBoard.getPieces(colorIndex, ChessPiece.EXILE)
+				& AttackTables.shockwaveTargets(square));
+		while (pieces != 0) {
+			int from = Long.numberOfTrailingZeros(pieces);
+			if ((getTargets(getSpace(from).getPiece(), from, occupied) & (1L << square)) != 0) {
+				attackers |= 1L << from;
+			}
+			pieces &= pieces - 1;
+		}
+		return attackers;
+	}
+
+	/**
+	 * Returns whether or not any piece of a color can move to a given square, assuming there is an enemy piece on it. This is the same as
+	 * getAttackers(square, colorIndex) != 0, but it stops at the first attacker it finds. This is only available on standard 8x8 boards.
+	 * 
+	 * @param square the square index
+	 * @param colorIndex the color of the attacking pieces
+	 * @return true if the square is attacked, false otherwise
+	 */
+	public boolean isSquareAttacked(int square, int colorIndex) {
+		long occupied = bitBoard.getOccupied() | (1L << square);
+		if (getTableAttackers(square, colorIndex, occupied) != 0) {
+			return true;
+		}
+		long pieces = bitBoard.getPieces(colorIndex, ChessPiece.BOO) | (bitBoard.getPieces(colorIndex, ChessPiece.EXILE)
+				& AttackTables.shockwaveTargets(square));
+		while (pieces != 0) {
+			int from = Long.numberOfTrailingZeros(pieces);
+			if ((getTargets(getSpace(from).getPiece(), from, occupied) & (1L << square)) != 0) {
+				return true;
+			}
+			pieces &= pieces - 1;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether or not any piece of a color can move to a given space, assuming there is an enemy piece on it. Boards that are not
+	 * 8x8 fall back on listing the capture moves of every piece of the color.
+	 * 
+	 * @param space the space on the board
+	 * @param color the color of the attacking pieces
+	 * @return true if the space is attacked, false otherwise
+	 */
+	public boolean isSquareAttacked(ChessSpace space, Color color) {
+		if (attackMap != null) {
+			return attackMap.getAttackers(BitBoard.square(space.getRow(), space.getCol()), BitBoard.colorIndex(color)) != 0;
+		}
+		if (bitBoard != null) {
+			return isSquareAttacked(BitBoard.square(space.getRow(), space.getCol()), BitBoard.colorIndex(color));
+		}
+		ChessPiece piece = space.getPiece();
+		if (piece != null && piece.getColor().equals(color)) {
+			return findCaptureSpace(findPossibleMovesIgnoreColor(getPieces(color)), space) != null;
+		}
+		return findCaptureSpace(findCaptureMoves(getPieces(color)), space) != null;
+	}
+
+	/**
+	 * Returns the pieces of a color that can move to a given space, assuming there is an enemy piece on it. Boards that are not 8x8 fall
+	 * back on listing the moves of every piece of the color.
+	 * 
+	 * @param space the space on the board
+	 * @param color the color of the attacking pieces
+	 * @return an ArrayList of the attacking pieces
+	 */
+	public ArrayList<ChessPiece> getAttackingPieces(ChessSpace space, Color color) {
+		ArrayList<ChessPiece> attackingPieces = new ArrayList<ChessPiece>();
+		if (bitBoard != null) {
+			int square = BitBoard.square(space.getRow(), space.getCol());
+			int colorIndex = BitBoard.colorIndex(color);
+			addPieces(attackingPieces, attackMap != null ? attackMap.getAttackers(square, colorIndex) : getAttackers(square, colorIndex));
+			return attackingPieces;
+		}
+		ChessPiece piece = space.getPiece();
+		ArrayList<CaptureSpace> moves = piece != null && piece.getColor().equals(color) ? findPossibleMovesIgnoreColor(getPieces(color))
+				: findCaptureMoves(getPieces(color));
+		CaptureSpace captureSpace = findCaptureSpace(moves, space);
+		if (captureSpace != null) {
+			attackingPieces.addAll(captureSpace.getPieces());
+		}
+		return attackingPieces;
+	}
+
+	/**
+	 * Returns whether or not the king of a color can be captured by the other color. If the color has no king, it is never in check.
+	 * 
+	 * @param colorIndex the color of the king
+	 * @return true if the king is in check, false otherwise
+	 */
+	public boolean isKingAttacked(int colorIndex) {
+		long kings = bitBoard.getPieces(colorIndex, ChessPiece.KING);
+		return kings != 0 && isSquareAttacked(Long.numberOfTrailingZeros(kings), 1 - colorIndex);
+	}
+
+	/**
+	 * Returns the static exchange evaluation of a move: the material the moving side wins if both sides keep capturing on the target square
+	 * with their least valuable piece, and either side may stop when it is ahead. Sliding pieces behind a capturing piece join the
+	 * exchange once it has moved (x-rays). A Boo that captures is worth its new value when it is taken back. Shockwaves are not exchanges,
+	 * since the Exile stays where it is, so their value is just the pieces in the cone. For the same reason a charged Exile whose cone
+	 * covers the square takes the piece there before any other attacker, and ends the exchange, since nothing is left on the square to take
+	 * back. The method does not change the board or allocate anything. This is only available on standard 8x8 boards.
+	 * 
+	 * @param move the encoded move, which has not been made yet
+	 * @return the material won (negative if lost), in piece values
+	 */
+	public int staticExchange(int move) {
+		if (Move.isShockwave(move)) {
+			return getCaptureValue(move);
+		}
+		int from = Move.getFrom(move);
+		int to = Move.getTo(move);
+		ChessPiece mover = getSpace(from).getPiece();
+		int side = 1 - mover.getSide();
+		long occupied = bitBoard.getOccupied() | (1L << to);
+		long capturer = 1L << from; // the piece that has just captured
+		int[] gains = exchangeGains;
+		gains[0] = getCaptureValue(move);
+		int onSquare = exchangeValue(mover, gains[0]); // the value of the piece now standing on the target square
+		int depth = 0;
+		while (true) {
+			depth++;
+			gains[depth] = onSquare - gains[depth - 1]; // the gain if the piece on the square is taken
+			occupied &= ~capturer; // this lets sliders behind the capturing piece join in
+			if (getShockwaveAttackers(to, side, occupied) != 0) {
+				depth++; // the shockwave is the last capture
+				break;
+			}
+			long attackers = (getTableAttackers(to, side, occupied) | getBooAttackers(to, side, occupied)) & occupied;
+			if (attackers == 0) {
+				break;
+			}
+			int attackerSquare = -1;
+			int attackerValue = Integer.MAX_VALUE;
+			while (attackers != 0) { // find the least valuable attacker
+				int square = Long.numberOfTrailingZeros(attackers);
+				int value = getSpace(square).getPiece().getValue();
+				if (value < attackerValue) {
+					attackerValue = value;
+					attackerSquare = square;
+				}
+				attackers &= attackers - 1;
+			}
+			onSquare = exchangeValue(getSpace(attackerSquare).getPiece(), onSquare);
+			capturer = 1L << attackerSquare;
+			side = 1 - side;
+		}
+		while (--depth > 0) { // the last gain is only what would happen if the exchange went on
+			gains[depth - 1] = -Math.max(-gains[depth - 1], gains[depth]);
+		}
+		return gains[0];
+	}
+
+	/**
+	 * A helper method that returns the value a piece has after it captures a piece of a given value. A Boo adds the value of the piece it
+	 * absorbs.
+	 * 
+	 * @param piece the capturing piece
+	 * @param capturedValue the value of the captured piece
+	 * @return the value of the capturing piece after the capture
+	 */
+	private int exchangeValue(ChessPiece piece, int capturedValue) {
+		return piece.getType() == ChessPiece.BOO ? piece.getValue() + capturedValue : piece.getValue();
+	}
+
+	/**
+	 * A helper method that finds the Boo pieces of a color that attack a square with the moves of the pieces they have absorbed.
+	 * 
+	 * @param square the square index
+	 * @param colorIndex the color of the Boo pieces
+	 * @param occupied the mask of occupied squares
+	 * @return the mask of the attacking Boo pieces' squares
+	 */
+	private long getBooAttackers(int square, int colorIndex, long occupied) {
+		long boos = bitBoard.getPieces(colorIndex, ChessPiece.BOO) & occupied;
+		long attackers = 0;
+		while (boos != 0) {
+			int from = Long.numberOfTrailingZeros(boos);
+			if ((getTargets(getSpace(from).getPiece(), from, occupied | (1L << square)) & (1L << square)) != 0) {
+				attackers |= 1L << from;
+			}
+			boos &= boos - 1;
+		}
+		return attackers;
+	}
+
+	/**
+	 * A helper method that finds the charged Exile pieces of a color that can hit a square with a shockwave. A shockwave needs a target
+	 * space that does not hold a piece of the Exile's own color, and hits the cone towards that target.
+	 * 
+	 * @param square the square index
+	 * @param colorIndex the color of the Exile pieces
+	 * @param occupied the mask of occupied squares
+	 * @return the mask of the charged Exile pieces' squares
+	 */
+	private long getShockwaveAttackers(int square, int colorIndex, long occupied) {
+		long exiles = bitBoard.getPieces(colorIndex, ChessPiece.EXILE) & occupied;
+		long attackers = 0;
+		while (exiles != 0) {
+			int from = Long.numberOfTrailingZeros(exiles);
+			exiles &= exiles - 1;
+			if (((Exile) getSpace(from).getPiece()).getCaptureCount() < 3) {
+				continue;
+			}
+			int row = from / BitBoard.SIZE;
+			int col = from % BitBoard.SIZE;
+			long targets = AttackTables.shockwaveTargets(from) & ~(bitBoard.getColor(colorIndex) & occupied);
+			while (targets != 0 && (attackers & (1L << from)) == 0) {
+				int target = Long.numberOfTrailingZeros(targets);
+				for (int[] offset : Exile.getShockwaveCone(row, col, target / BitBoard.SIZE, target % BitBoard.SIZE)) {
+					if (row + offset[0] == square / BitBoard.SIZE && col + offset[1] == square % BitBoard.SIZE) {
+						attackers |= 1L << from;
+					}
+				}
+				targets &= targets - 1;
+			}
+		}
+		return attackers;
+	}
+
+	/**
+	 * A helper method that finds the attackers of a square that can be looked up in the attack tables alone: Pawns, Knights, Bishops,
+	 * Rooks, Queens and the king steps of Kings, Boo and Exile pieces. The leaping tables are symmetric, so a piece attacks the square
+	 * exactly when the square attacks it. Pawns are the exception, so an upward Pawn is looked for with the downward Pawn table and the
+	 * other way around.
+	 * 
+	 * @param square the square index
+	 * @param colorIndex the color of the attacking pieces
+	 * @param occupied the mask of occupied squares, including the square itself
+	 * @return the mask of the attacking pieces' squares
+	 */
+	private long getTableAttackers(int square, int colorIndex, long occupied) {
+		long pieces = bitBoard.getColor(colorIndex);
+		long pawns = pieces & bitBoard.getType(ChessPiece.PAWN);
+		long queens = bitBoard.getType(ChessPiece.QUEEN);
+		long attackers = AttackTables.knightAttacks(square) & bitBoard.getType(ChessPiece.KNIGHT);
+		attackers |= AttackTables.kingAttacks(square)
+				& (bitBoard.getType(ChessPiece.KING) | bitBoard.getType(ChessPiece.BOO) | bitBoard.getType(ChessPiece.EXILE));
+		attackers |= AttackTables.rookAttacks(square, occupied) & (bitBoard.getType(ChessPiece.ROOK) | queens);
+		attackers |= AttackTables.bishopAttacks(square, occupied) & (bitBoard.getType(ChessPiece.BISHOP) | queens);
+		attackers &= pieces;
+		attackers |= AttackTables.pawnAttacks(square, 0) & pawns & bitBoard.getUpPawns();
+		attackers |= AttackTables.pawnAttacks(square, 1) & pawns & ~bitBoard.getUpPawns();
+		return attackers;
+	}
+
+	/**
+	 * A helper method that determines if a piece on a square slides along the line to a target square, so that pieces between them block
+	 * it. Boo slides like any Rook, Bishop or Queen it has captured.
+	 * 
+	 * @param piece the piece
+	 * @param square the square of the piece
+	 * @param target the target square
+	 * @return true if the piece slides towards the target, false otherwise
+	 */
+	private boolean slidesTowards(ChessPiece piece, int square, int target) {
+		boolean straight = square / BitBoard.SIZE == target / BitBoard.SIZE || square % BitBoard.SIZE == target % BitBoard.SIZE;
+		switch (piece.getType()) {
+		case ChessPiece.QUEEN:
+			return true;
+		case ChessPiece.ROOK:
+			return straight;
+		case ChessPiece.BISHOP:
+			return !straight;
+		case ChessPiece.BOO:
+			for (ChessPiece p : ((Boo) piece).getCaptured()) {
+				if (slidesTowards(p, square, target)) {
+					return true;
+				}
+			}
+			return false;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Takes back the last move made with makeMove, restoring captured pieces, the state of Boo and Exile pieces and promoted Pawns. If
+	 * there is no move to take back, the method does nothing.
+	 */
+	public void unmakeMove() {
+		if (moveCount == 0) {
+			return;
+		}
+		MoveRecord record = moveRecords[--moveCount];
+		switchSideToMove();
+		ChessPiece piece = record.piece;
+		if (piece instanceof Exile) {
+			((Exile) piece).setCaptureCount(record.captureCount);
+		}
+		if (record.shockwave) {
+			for (int i = 0; i < record.shockwaveCount; i++) {
+				record.shockwaveSpaces[i].setPiece(record.shockwaveVictims[i]);
+				record.shockwaveVictims[i] = null;
+			}
+			spaceChanged(record.originalSpace);
+			record.piece = null;
+			return;
+		}
+		if (record.captured != null && piece instanceof Boo) {
+			ArrayList<ChessPiece> captured = ((Boo) piece).getCaptured();
+			captured.remove(captured.size() - 1);
+		}
+		piece.setValue(record.value);
+		if (record.promoted != null) {
+			record.targetSpace.setPiece(piece);
+		}
+		piece.generalMoveTo(record.originalSpace);
+		if (record.captured != null) {
+			record.captured.setSpace(record.targetSpace);
+			record.targetSpace.setPiece(record.captured);
+		}
+		record.piece = null;
+		record.captured = null;
+		record.promoted = null;
+	}
+
+	/**
+	 * Returns the number of moves made with makeMove that have not been taken back yet.
+	 * 
+	 * @return the number of moves that can be taken back
+	 */
+	public int getMoveCount() {
+		return moveCount;
+	}
+
 	/**
 	 * Checks whether or not a ChessPiece can proceed to a given space without being blocked by another ChessPiece. The method assumes that
 	 * the targetSpace is a valid target by the piece; i.e. the piece could move to that space if there were no obstacles.
@@ -185,6 +1088,19 @@ public class ChessBoard implements Board<ChessSpace> {
 		if (piece instanceof Exile && (rowDifference > 1 || colDifference > 1)) { // fired a shockwave
 			return true;
 		} // All other pieces move in a straight line to their target.
+		if (bitBoard != null) {
+			if (rowDifference != 0 && colDifference != 0 && rowDifference != colDifference) {
+				return true; // not on a line, so the move is a leap (e.g. a Boo that has captured a Knight)
+			}
+			int square = BitBoard.square(currentRow, currentCol);
+			long reachable;
+			if (rowDifference == 0 || colDifference == 0) {
+				reachable = AttackTables.rookAttacks(square, bitBoard.getOccupied());
+			} else {
+				reachable = AttackTables.bishopAttacks(square, bitBoard.getOccupied());
+			}
+			return (reachable & BitBoard.bit(targetRow, targetCol)) != 0;
+		}
 		// First test if the path is in the same vertical or horizontal line as the piece.
 		if (targetSpace.getRow() == piece.getSpace().getRow() || targetSpace.getCol() == piece.getSpace().getCol()) {
 			return hasClearPathVertHorizontal(currentRow, currentCol, targetRow, targetCol);
@@ -193,6 +1109,105 @@ public class ChessBoard implements Board<ChessSpace> {
 		return hasClearPathDiagonal(currentRow, currentCol, targetRow, targetCol);
 	}
 
+	/**
+	 * Returns the mask of all squares a piece can move to according to its move rules and the pieces in its way, regardless of the color
+	 * of the piece on the target square. This is the bitboard equivalent of testing validMove and hasClearPath on every space, and is only
+	 * available on standard 8x8 boards.
+	 * 
+	 * @param piece the piece that is moving. It must be on the board.
+	 * @return the mask of squares the piece can reach
+	 */
+	public long getTargets(ChessPiece piece) {
+		return getTargets(piece, BitBoard.square(piece.getSpace().getRow(), piece.getSpace().getCol()), bitBoard.getOccupied());
+	}
+
+	/**
+	 * A helper method that returns the mask of squares a piece could reach from a given square. Boo's targets include the targets of every
+	 * piece it has captured, as if that piece stood on the Boo's square.
+	 * 
+	 * @param piece the piece that is moving
+	 * @param square the square the piece moves from
+	 * @param occupied the mask of occupied squares
+	 * @return the mask of squares the piece can reach
+	 */
+	long getTargets(ChessPiece piece, int square, long occupied) {
+		switch (piece.getType()) {
+		case ChessPiece.PAWN:
+			return getPawnTargets(((Pawn) piece).getDirection(), square, occupied);
+		case ChessPiece.KNIGHT:
+			return AttackTables.knightAttacks(square);
+		case ChessPiece.BISHOP:
+			return AttackTables.bishopAttacks(square, occupied);
+		case ChessPiece.ROOK:
+			return AttackTables.rookAttacks(square, occupied);
+		case ChessPiece.QUEEN:
+			return AttackTables.queenAttacks(square, occupied);
+		case ChessPiece.BOO:
+			long targets = AttackTables.kingAttacks(square);
+			for (ChessPiece p : ((Boo) piece).getCaptured()) {
+				targets |= getTargets(p, square, occupied);
+			}
+			return targets;
+		case ChessPiece.EXILE:
+			if (((Exile) piece).getCaptureCount() >= 3) {
+				return AttackTables.kingAttacks(square) | AttackTables.shockwaveTargets(square);
+			}
+			return AttackTables.kingAttacks(square);
+		default: // King
+			return AttackTables.kingAttacks(square);
+		}
+	}
+
+	/**
+	 * A helper method that returns the squares a piece attacks: the squares it could move to if an enemy piece were there. This is the
+	 * same as getTargets, except that a Pawn attacks its two capture squares whether or not they are occupied, and never the squares in
+	 * front of it.
+	 * 
+	 * @param piece the piece
+	 * @param square the square of the piece
+	 * @param occupied the mask of occupied squares
+	 * @return the mask of attacked squares
+	 */
+	private long getAttacks(ChessPiece piece, int square, long occupied) {
+		switch (piece.getType()) {
+		case ChessPiece.PAWN:
+			return AttackTables.pawnAttacks(square, ((Pawn) piece).getDirection());
+		case ChessPiece.BOO:
+			long attacks = AttackTables.kingAttacks(square);
+			for (ChessPiece p : ((Boo) piece).getCaptured()) {
+				attacks |= getAttacks(p, square, occupied);
+			}
+			return attacks;
+		default:
+			return getTargets(piece, square, occupied);
+		}
+	}
+
+	/**
+	 * A helper method that returns the squares a Pawn can move to: forward onto empty squares (two squares from its starting row), and
+	 * diagonally forward onto occupied squares.
+	 * 
+	 * @param direction the direction of the Pawn. 0 - down, 1 - up
+	 * @param square the square the Pawn moves from
+	 * @param occupied the mask of occupied squares
+	 * @return the mask of squares the Pawn can reach
+	 */
+	private long getPawnTargets(int direction, int square, long occupied) {
+		long targets = AttackTables.pawnAttacks(square, direction) & occupied;
+		int row = square / BitBoard.SIZE;
+		int step = direction == 1 ? -BitBoard.SIZE : BitBoard.SIZE;
+		int startRow = direction == 1 ? 6 : 1;
+		int oneAhead = square + step;
+		if (oneAhead < 0 || oneAhead >= BitBoard.SIZE * BitBoard.SIZE || (occupied & (1L << oneAhead)) != 0) {
+			return targets;
+		}
+		targets |= 1L << oneAhead;
+		if (row == startRow && (occupied & (1L << (oneAhead + step))) == 0) {
+			targets |= 1L << (oneAhead + step);
+		}
+		return targets;
+	}
+
 	/**
 	 * A helper method that determines if a piece moving in a vertical or horizontal line from the current space can proceed to the target
 	 * space without running into another piece.
@@ -207,13 +1222,13 @@ public class ChessBoard implements Board<ChessSpace> {
 		if (targetRow == currentRow) {
 			if (targetCol > currentCol) {
 				for (int i = currentCol + 1; i < targetCol; i++) {
-					if (getPointValue(currentRow, i).getPiece() != null) {
+					if (isOccupied(currentRow, i)) {
 						return false;
 					}
 				}
 			} else {
 				for (int i = currentCol - 1; i > targetCol; i--) {
-					if (getPointValue(currentRow, i).getPiece() != null) {
+					if (isOccupied(currentRow, i)) {
 						return false;
 					}
 				}
@@ -221,13 +1236,13 @@ public class ChessBoard implements Board<ChessSpace> {
 		} else { // Same column
 			if (targetRow > currentRow) {
 				for (int i = currentRow + 1; i < targetRow; i++) {
-					if (getPointValue(i, currentCol).getPiece() != null) {
+					if (isOccupied(i, currentCol)) {
 						return false;
 					}
 				}
 			} else {
 				for (int i = currentRow - 1; i > targetRow; i--) {
-					if (getPointValue(i, currentCol).getPiece() != null) {
+					if (isOccupied(i, currentCol)) {
 						return false;
 					}
 				}
@@ -250,13 +1265,13 @@ public class ChessBoard implements Board<ChessSpace> {
 		if (targetRow > currentRow) {
 			if (targetCol > currentCol) {
 				for (int i = currentRow + 1; i < targetRow; i++) { // iterate towards the bottom right of the array
-					if (getPointValue(i, currentCol + (i - currentRow)).getPiece() != null) {
+					if (isOccupied(i, currentCol + (i - currentRow))) {
 						return false;
 					}
 				}
 			} else {
 				for (int i = currentRow + 1; i < targetRow; i++) { // iterate towards the bottom left of the array
-					if (getPointValue(i, currentCol - (i - currentRow)).getPiece() != null) {
+					if (isOccupied(i, currentCol - (i - currentRow))) {
 						return false;
 					}
 				}
@@ -264,13 +1279,13 @@ public class ChessBoard implements Board<ChessSpace> {
 		} else {
 			if (targetCol > currentCol) {
 				for (int i = currentRow - 1; i > targetRow; i--) { // iterate towards the top right of the array
-					if (getPointValue(i, currentCol + (currentRow - i)).getPiece() != null) {
+					if (isOccupied(i, currentCol + (currentRow - i))) {
 						return false;
 					}
 				}
 			} else {
 				for (int i = currentRow - 1; i > targetRow; i--) { // iterate towards the top left of the array
-					if (getPointValue(i, currentCol - (currentRow - i)).getPiece() != null) {
+					if (isOccupied(i, currentCol - (currentRow - i))) {
 						return false;
 					}
 				}
@@ -287,6 +1302,10 @@ public class ChessBoard implements Board<ChessSpace> {
 	 */
 	public ArrayList<ChessPiece> getPieces(Color color) {
 		ArrayList<ChessPiece> pieces = new ArrayList<ChessPiece>();
+		if (bitBoard != null) {
+			addPieces(pieces, bitBoard.getColor(BitBoard.colorIndex(color)));
+			return pieces;
+		}
 		for (int i = 0; i < getLength(); i++) {
 			for (int j = 0; j < getWidth(); j++) {
 				if (getPointValue(i, j).getPiece() != null && getPointValue(i, j).getPiece().getColor() == color) // if opponent
@@ -299,6 +1318,16 @@ public class ChessBoard implements Board<ChessSpace> {
 		return pieces;
 	}
 
+	/**
+	 * Returns the color of the other side.
+	 * 
+	 * @param color the color of one side
+	 * @return black for white, and white for every other color
+	 */
+	public static Color getOpponentColor(Color color) {
+		return Color.WHITE.equals(color) ? Color.BLACK : Color.WHITE;
+	}
+
 	/**
 	 * Returns an ArrayList of all pieces on the board that are not the given color.
 	 * 
@@ -308,6 +1337,10 @@ public class ChessBoard implements Board<ChessSpace> {
 	public ArrayList<ChessPiece> getOpponentPieces(Color color) {
 		// We iterate through the board array and check each piece.
 		ArrayList<ChessPiece> opponentPieces = new ArrayList<ChessPiece>();
+		if (bitBoard != null) {
+			addPieces(opponentPieces, bitBoard.getColor(1 - BitBoard.colorIndex(color)));
+			return opponentPieces;
+		}
 		for (int i = 0; i < getLength(); i++) {
 			for (int j = 0; j < getWidth(); j++) {
 				if (getPointValue(i, j).getPiece() != null && getPointValue(i, j).getPiece().getColor() != color) // if opponent
@@ -320,6 +1353,19 @@ public class ChessBoard implements Board<ChessSpace> {
 		return opponentPieces;
 	}
 
+	/**
+	 * A helper method that adds the pieces on every square of a bitboard mask to an ArrayList, in row-major order.
+	 * 
+	 * @param pieces the ArrayList to add to
+	 * @param mask the squares to add the pieces of
+	 */
+	private void addPieces(ArrayList<ChessPiece> pieces, long mask) {
+		while (mask != 0) {
+			pieces.add(getSpace(Long.numberOfTrailingZeros(mask)).getPiece());
+			mask &= mask - 1;
+		}
+	}
+
 	/**
 	 * Find the set of all possible spaces an ArrayList of ChessPieces can move to. It returns the information in an array of CaptureSpaces,
 	 * which list which pieces can capture each space. The boolean options allow the user to customize whether or not to consider the color
@@ -332,6 +1378,9 @@ public class ChessBoard implements Board<ChessSpace> {
 	 * @return an ArrayList containing all possible spaces.
 	 */
 	public ArrayList<CaptureSpace> findPossibleMoves(ArrayList<ChessPiece> pieces, boolean ignoreColor, boolean captureMove) {
+		if (bitBoard != null) {
+			return generatePossibleMoves(pieces, ignoreColor, captureMove);
+		}
 		ArrayList<CaptureSpace> spaces = new ArrayList<CaptureSpace>();
 		boolean addCondition;
 		for (int i = 0; i < getLength(); i++) { // we iterate through every space on the board
@@ -343,11 +1392,11 @@ public class ChessBoard implements Board<ChessSpace> {
 					if (ignoreColor && !captureMove) {
 						addCondition = true; // the space is valid as long as a piece can get there
 					} else if (!ignoreColor && captureMove) {
-						addCondition = targetPiece != null && targetPiece.getColor() != currentPiece.getColor();
+						addCondition = targetPiece != null && targetPiece.getSide() != currentPiece.getSide();
 					} else if (ignoreColor && captureMove) {
 						addCondition = targetPiece != null;
 					} else {
-						addCondition = targetPiece == null || targetPiece.getColor() != currentPiece.getColor(); // default condition
+						addCondition = targetPiece == null || targetPiece.getSide() != currentPiece.getSide(); // default condition
 					}
 					// if the piece satisfies all the conditions, we add it to the list that can capture the space
 					if (currentPiece.validMove(getPointValue(i, j)) && hasClearPath(currentPiece, getPointValue(i, j)) && addCondition) {
@@ -363,6 +1412,64 @@ public class ChessBoard implements Board<ChessSpace> {
 		return spaces;
 	}
 
+	/**
+	 * The bitboard version of findPossibleMoves. Instead of testing every piece against every space, it looks up the squares each piece
+	 * can reach, filters them by the color options, and stores the result in a buffer that is reused between calls. CaptureSpaces are
+	 * only created for the squares that some piece can reach. The result has the same order as the scanning version: spaces in row-major
+	 * order, and pieces in the order of the given ArrayList.
+	 * 
+	 * @param pieces The pieces that are moving
+	 * @param ignoreColor true if the result includes spaces where pieces "capture" pieces of the same color
+	 * @param captureMove true if the result only includes spaces where the pieces capture, false otherwise
+	 * @return an ArrayList containing all possible spaces.
+	 */
+	private ArrayList<CaptureSpace> generatePossibleMoves(ArrayList<ChessPiece> pieces, boolean ignoreColor, boolean captureMove) {
+		if (targetBuffer.length < pieces.size()) {
+			targetBuffer = new long[Math.max(pieces.size(), 2 * targetBuffer.length)];
+		}
+		long reachable = 0;
+		for (int k = 0; k < pieces.size(); k++) {
+			targetBuffer[k] = getMoveTargets(pieces.get(k), ignoreColor, captureMove);
+			reachable |= targetBuffer[k];
+		}
+		ArrayList<CaptureSpace> spaces = new ArrayList<CaptureSpace>(Long.bitCount(reachable));
+		while (reachable != 0) {
+			int square = Long.numberOfTrailingZeros(reachable);
+			long mask = 1L << square;
+			CaptureSpace captureSpace = new CaptureSpace(getSpace(square));
+			for (int k = 0; k < pieces.size(); k++) {
+				if ((targetBuffer[k] & mask) != 0) {
+					captureSpace.addPiece(pieces.get(k));
+				}
+			}
+			spaces.add(captureSpace);
+			reachable &= reachable - 1;
+		}
+		return spaces;
+	}
+
+	/**
+	 * Returns the mask of squares a piece can move to, filtered by the same color options as findPossibleMoves. This is only available on
+	 * standard 8x8 boards.
+	 * 
+	 * @param piece the piece that is moving. It must be on the board.
+	 * @param ignoreColor true to include squares with pieces of the same color
+	 * @param captureMove true to only include squares that have a piece on them
+	 * @return the mask of squares the piece can move to
+	 */
+	public long getMoveTargets(ChessPiece piece, boolean ignoreColor, boolean captureMove) {
+		long targets = getTargets(piece);
+		int color = piece.getSide();
+		if (ignoreColor && !captureMove) {
+			return targets; // the space is valid as long as a piece can get there
+		} else if (!ignoreColor && captureMove) {
+			return targets & bitBoard.getColor(1 - color);
+		} else if (ignoreColor && captureMove) {
+			return targets & bitBoard.getOccupied();
+		}
+		return targets & ~bitBoard.getColor(color); // default condition
+	}
+
 	/**
 	 * Find the set of all possible spaces an array of pieces can move to.
 	 * 
@@ -413,6 +1520,15 @@ public class ChessBoard implements Board<ChessSpace> {
 	 * @return an ArrayList of all spaces the piece can move to
 	 */
 	public ArrayList<ChessSpace> findPossibleMoves(ChessPiece piece, boolean captureOnly) {
+		if (bitBoard != null) {
+			long targets = getMoveTargets(piece, false, captureOnly);
+			ArrayList<ChessSpace> possibleMoves = new ArrayList<ChessSpace>(Long.bitCount(targets));
+			while (targets != 0) {
+				possibleMoves.add(getSpace(Long.numberOfTrailingZeros(targets)));
+				targets &= targets - 1;
+			}
+			return possibleMoves;
+		}
 		ArrayList<ChessPiece> pieces = new ArrayList<ChessPiece>();
 		pieces.add(piece);
 		ArrayList<CaptureSpace> possibleCaptureMoves = findPossibleMoves(pieces, false, captureOnly);
@@ -439,4 +1555,23 @@ public class ChessBoard implements Board<ChessSpace> {
 		}
 		return null;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * The undo information of one move made with makeMove. It holds the pieces and spaces the move touched, and the state of the moving
+	 * piece before the move.
+	 */
+	private static class MoveRecord {
+		ChessPiece piece;
+		ChessSpace originalSpace;
+		ChessSpace targetSpace;
+		ChessPiece captured; // the piece taken on the target space, if any
+		ChessPiece promoted; // the piece a Pawn was promoted to, if any
+		ChessPiece[][] promotions = new ChessPiece[2][ChessPiece.QUEEN + 1]; // the promoted pieces, by side and type, reused by later moves
+		int value; // the value of the moving piece before the move (changes when Boo captures)
+		int captureCount; // the capture count of a moving Exile before the move
+		boolean shockwave; // true if the move was an Exile shockwave
+		ChessPiece[] shockwaveVictims = new ChessPiece[4]; // the pieces removed by the shockwave
+		ChessSpace[] shockwaveSpaces = new ChessSpace[4];
+		int shockwaveCount;
+	}
+}
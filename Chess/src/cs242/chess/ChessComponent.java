@@ -10,6 +10,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 
 import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
 import javax.swing.JComponent;
 
 import cs242.chess.pieces.ChessPiece;
@@ -17,7 +18,8 @@ import cs242.chess.pieces.King;
 
 /**
  * A class that represents a ChessBoard object with the pieces. It creates the board outline and displays the pieces on it. It also holds an
- * ArrayList of the players.
+ * ArrayList of the players. The pieces themselves hold no images; the component draws every piece with the sprite of its type and side
+ * from the SpriteCache.
  * 
  * @author REN-JAY_2
  * 
@@ -43,6 +45,16 @@ public class ChessComponent extends JComponent {
 		moveSpaces = new ArrayList<ChessSpace>();
 		captureSpaces = new ArrayList<ChessSpace>();
 	}
+
+	/**
+	 * Returns the image the component draws a piece with.
+	 * 
+	 * @param piece the piece
+	 * @return the sprite of the piece's type and side at the size of a square, or null if it could not be loaded
+	 */
+	public ImageIcon getPieceIcon(ChessPiece piece) {
+		return SpriteCache.getSprite(piece, pointSize);
+	}
 	
 
 	/**
@@ -140,11 +152,6 @@ public class ChessComponent extends JComponent {
 	 * @param newPlayer the player to add to the game
 	 */
 	public void addPlayer(ChessPlayer newPlayer) {
-		// rescale images
-		for (int pieceIndex = 0; pieceIndex < newPlayer.getPieces().size(); pieceIndex++) {
-			Image scaledImage = newPlayer.getPieces().get(pieceIndex).getImageIcon().getImage().getScaledInstance(pointSize, pointSize, Image.SCALE_DEFAULT);
-			newPlayer.getPieces().get(pieceIndex).getImageIcon().setImage(scaledImage);
-		}
 		playerList.add(newPlayer);
 	}
 	
@@ -214,8 +221,9 @@ public class ChessComponent extends JComponent {
 				}
 				// note that col is x and row is y
 				// we include this if statement for the case in which the board is repainted before the piece array can update
-				if (c.getSpace() != null) {
-					c.getImageIcon().paintIcon(this, g2, c.getSpace().getCol() * pointSize, c.getSpace().getRow() * pointSize);
+				ImageIcon icon = getPieceIcon(c);
+				if (c.getSpace() != null && icon != null) {
+					icon.paintIcon(this, g2, c.getSpace().getCol() * pointSize, c.getSpace().getRow() * pointSize);
 				}
 			}
 		}
@@ -85,6 +85,25 @@ public class ChessDisplay {
 		boardComponent.repaint();
 	}
 
+	/**
+	 * Asks the user which piece a Pawn is promoted to.
+	 * 
+	 * @param frame the frame the game is playing on
+	 * @return ChessPiece.QUEEN, ROOK, KNIGHT or BISHOP, or ChessPiece.NONE if the user closed the dialog
+	 */
+	private static int choosePromotion(JFrame frame) {
+		String[] names = { "Queen", "Rook", "Knight", "Bishop" };
+		int[] types = { ChessPiece.QUEEN, ChessPiece.ROOK, ChessPiece.KNIGHT, ChessPiece.BISHOP };
+		String choice = (String) JOptionPane.showInputDialog(frame, "Promotion!", "Please choose a promotion.", JOptionPane.QUESTION_MESSAGE,
+				null, names, names[0]);
+		for (int i = 0; i < names.length; i++) {
+			if (names[i].equals(choice)) {
+				return types[i];
+			}
+		}
+		return ChessPiece.NONE;
+	}
+
 	/**
 	 * Takes care of the logistics for a computer move. Specifically, it makes the move, checks for end game conditions and updates the
 	 * piece arrays.
@@ -114,9 +133,8 @@ public class ChessDisplay {
 		swapPlayerIndices();
 		ChessPlayer nextPlayer = boardComponent.getPlayer(currentPlayerIndex);
 		nextPlayer.updatePieceArray();
-		ArrayList<CaptureSpace> dangerSpaces = boardComponent.getBoard().findCaptureMoves(
-				boardComponent.getBoard().getOpponentPieces(nextPlayer.getKing().getColor()));
-		nextPlayer.getKing().setCheck(boardComponent.getBoard().findCaptureSpace(dangerSpaces, nextPlayer.getKing().getSpace()) != null);
+		nextPlayer.getKing().setCheck(boardComponent.getBoard().isSquareAttacked(nextPlayer.getKing().getSpace(),
+				ChessBoard.getOpponentColor(nextPlayer.getKing().getColor())));
 		boardComponent.repaint();
 		return true;
 
@@ -128,6 +146,7 @@ public class ChessDisplay {
 	 * @param args string arguments
 	 */
 	public static void main(String[] args) {
+		SpriteCache.preload(); // read the piece images while the window is being set up
 		final JFrame frame = new JFrame("Chess");
 
 		final ChessBoard board = new ChessBoard();
@@ -153,6 +172,7 @@ public class ChessDisplay {
 			ChessPiece piece;
 			ChessPiece pieceCopy; // copy the piece in case it has special internal variables
 			ChessSpace targetSpace;
+			int promotionType; // the piece a Pawn is promoted to
 			ChessPlayer player;
 			ChessPlayer otherPlayer;
 			int originalRestartCount;
@@ -165,16 +185,18 @@ public class ChessDisplay {
 			 * @param newBoard the board the command is on
 			 * @param newPiece the piece that is being moved
 			 * @param newTarget the target space the piece is being moved to
+			 * @param newPromotionType the type a Pawn is promoted to if it reaches the last row
 			 * @param playerIssuingCommand the player that is moving the piece
 			 * @param opponent the other player
 			 */
-			private ChessMoveCommand(ChessBoard newBoard, ChessPiece newPiece, ChessSpace newTarget, ChessPlayer playerIssuingCommand, ChessPlayer opponent) {
+			private ChessMoveCommand(ChessBoard newBoard, ChessPiece newPiece, ChessSpace newTarget, int newPromotionType,
+					ChessPlayer playerIssuingCommand, ChessPlayer opponent) {
 				board = newBoard;
 				piece = newPiece;
 				pieceCopy = piece.copy();
 				pieceCopy.setSpace(piece.getSpace());
-				pieceCopy.setImageIcon(piece.getImageIcon());
 				targetSpace = newTarget;
+				promotionType = newPromotionType;
 				player = playerIssuingCommand;
 				originalRestartCount = restartCount;
 				currentCheck = player.getKing().getCheck();
@@ -187,7 +209,7 @@ public class ChessDisplay {
 			 */
 			public void execute() {
 				ChessPiece targetPiece = targetSpace.getPiece();
-				piece.moveTo(targetSpace);
+				piece.moveTo(targetSpace, promotionType);
 				if (targetPiece != null) {
 					targetPiece.setSpace(targetSpace); // make the removed piece remember its old space so that undo is possible
 				}
@@ -220,9 +242,9 @@ public class ChessDisplay {
 						}
 					}
 				}
-				ArrayList<CaptureSpace> dangerSpaces = board.findCaptureMoves(board.getOpponentPieces(otherPlayer.getKing().getColor()));
 				// set the King's check variable
-				otherPlayer.getKing().setCheck(board.findCaptureSpace(dangerSpaces, otherPlayer.getKing().getSpace()) != null);
+				otherPlayer.getKing().setCheck(board.isSquareAttacked(otherPlayer.getKing().getSpace(),
+						ChessBoard.getOpponentColor(otherPlayer.getKing().getColor())));
 				swapPlayerIndices();
 			}
 
@@ -306,8 +328,16 @@ public class ChessDisplay {
 				if (!possibleMoves.contains(targetSpace)) { // move not allowed
 					return;
 				}
-				// move is legitimate
-				commandManager.executeCommand(new ChessMoveCommand(board, currentPiece, targetSpace, boardComponent.getPlayer(currentPlayerIndex), boardComponent.getPlayer(previousPlayerIndex)));
+				// move is legitimate. A promotion is chosen before the move is made
+				int promotionType = ChessPiece.QUEEN;
+				if (currentPiece instanceof Pawn && Pawn.isPromotionRow(row, ((Pawn) currentPiece).getDirection())) {
+					promotionType = choosePromotion(frame);
+					if (promotionType == ChessPiece.NONE) {
+						return;
+					}
+				}
+				commandManager.executeCommand(new ChessMoveCommand(board, currentPiece, targetSpace, promotionType, boardComponent
+						.getPlayer(currentPlayerIndex), boardComponent.getPlayer(previousPlayerIndex)));
 				int endGame = boardComponent.getPlayer(currentPlayerIndex).checkEndConditions();
 				if (endGame == 1) {
 					JOptionPane.showMessageDialog(frame, boardComponent.getPlayer(previousPlayerIndex).getName() + " wins!",
@@ -3,11 +3,8 @@ package cs242.chess;
 import java.awt.Color;
 import java.util.ArrayList;
 
-import cs242.chess.pieces.Boo;
 import cs242.chess.pieces.ChessPiece;
-import cs242.chess.pieces.Exile;
 import cs242.chess.pieces.King;
-import cs242.chess.pieces.Pawn;
 
 /**
  * Contains the implementation for a human player. The class contains an ArrayList of all pieces that the player has; as pieces are taken,
@@ -22,6 +19,7 @@ public class ChessPlayer {
 	private ChessBoard board;
 	private King king;
 	private String name;
+	private MoveList legalMoves = new MoveList(); // reused every time the player's moves are listed
 
 	/**
 	 * Constructor that receives a color and a board. It finds all the pieces of that color on the board and stores them in an ArrayList. It
@@ -106,46 +104,20 @@ public class ChessPlayer {
 	}
 	
 	/**
-	 * Tests if moving a piece to a target space puts the king in check. The method returns the ChessBoard to its original state at the end
-	 * of the method. The method assumes that the move is valid, has a clear path and is of a different color.
+	 * Tests if moving a piece to a target space puts the king in check. The method makes the move with the board's makeMove and takes it
+	 * back with unmakeMove, so the ChessBoard is returned to its original state at the end of the method without copying it. The method
+	 * assumes that the move is valid, has a clear path and is of a different color.
 	 * 
 	 * @param piece the piece to be moved
 	 * @param targetSpace the space the piece wants to be moved to
 	 * @return true if after the move the king is in check, false otherwise
 	 */
 	public boolean moveLeavesKingInCheck(ChessPiece piece, ChessSpace targetSpace) {
-		if (piece instanceof Exile) {
-			ChessBoard testBoard = (ChessBoard) board.copy();
-			ChessSpace testSpace = testBoard.getPointValue(piece.getSpace().getRow(), piece.getSpace().getCol());
-			return moveLeavesKingInCheck(testBoard, testSpace.getPiece(),
-					testBoard.getPointValue(targetSpace.getRow(), targetSpace.getCol()));
-		}
-		ChessPiece targetPiece = targetSpace.getPiece(); // This is the piece at the targetSpace (can be null)}
-		ChessSpace originalSpace = piece.getSpace();
-		ArrayList<ChessPiece> opponentPieces = board.getOpponentPieces(piece.getColor());
-		ArrayList<CaptureSpace> dangerSpaces = board.findPossibleMoves(opponentPieces);
-		// remove captured enemy piece from opponent list
-		if (targetPiece != null) {
-			opponentPieces.remove(targetPiece);
-		}
-		// we use the abstract method to prevent Pawn promotions and similar move actions
-		piece.generalMoveTo(targetSpace);
+		board.makeMove(piece, targetSpace);
 		// check if in check
-		dangerSpaces = board.findPossibleMoves(opponentPieces);
-		CaptureSpace canCaptureKing = board.findCaptureSpace(dangerSpaces, king.getSpace());
-		// move piece back
-		piece.generalMoveTo(originalSpace);
-		// undo capture and re-add piece. If there is no piece there, targetSpace will have its piece set to null
-		if (targetPiece != null) {
-			// if the piece is a Boo, undo the absorption
-			if (piece instanceof Boo) {
-				Boo boo = (Boo) piece;
-				boo.getCaptured().remove(targetPiece);
-				boo.setValue(boo.getValue() - targetPiece.getValue());
-			}
-			targetPiece.generalMoveTo(targetSpace);
-		}
-		return canCaptureKing == null ? false : true;
+		boolean inCheck = board.isSquareAttacked(king.getSpace(), ChessBoard.getOpponentColor(piece.getColor()));
+		board.unmakeMove();
+		return inCheck;
 	}
 
 	/**
@@ -190,6 +162,9 @@ public class ChessPlayer {
 		if (pieceArray.size() == 0) {
 			return null;
 		}
+		if (board.getBitBoard() != null) {
+			return getLegalMoves(pieceArray);
+		}
 		ArrayList<CaptureSpace> possibleMoves = board.findPossibleMoves(pieceArray);
 		// iterate through all spaces
 		for (int spaceIndex = possibleMoves.size() - 1; spaceIndex >= 0; spaceIndex--) {
@@ -208,6 +183,43 @@ public class ChessPlayer {
 		return possibleMoves;
 	}
 	
+	/**
+	 * A helper function that builds the list of valid moves from the board's legal move generator. The pieces are assumed to be the
+	 * player's own pieces. The list has the same order as findPossibleMoves: spaces in row-major order, and pieces in the order of the
+	 * given ArrayList.
+	 * 
+	 * @param pieceArray the array of pieces to consider
+	 * @return an ArrayList of valid spaces
+	 */
+	private ArrayList<CaptureSpace> getLegalMoves(ArrayList<ChessPiece> pieceArray) {
+		legalMoves.clear();
+		board.generateLegalMoves(BitBoard.colorIndex(king.getColor()), legalMoves, false);
+		long[] targets = new long[BitBoard.SIZE * BitBoard.SIZE]; // the legal targets of the piece on each square
+		long reachable = 0;
+		for (int i = 0; i < legalMoves.size(); i++) {
+			int move = legalMoves.get(i);
+			targets[Move.getFrom(move)] |= 1L << Move.getTo(move);
+			reachable |= 1L << Move.getTo(move);
+		}
+		ArrayList<CaptureSpace> possibleMoves = new ArrayList<CaptureSpace>(Long.bitCount(reachable));
+		while (reachable != 0) {
+			int square = Long.numberOfTrailingZeros(reachable);
+			CaptureSpace captureSpace = new CaptureSpace(board.getSpace(square));
+			for (ChessPiece p : pieceArray) {
+				ChessSpace space = p.getSpace();
+				if (space != null && board.getPointValue(space.getRow(), space.getCol()).getPiece() == p
+						&& (targets[BitBoard.square(space.getRow(), space.getCol())] & (1L << square)) != 0) {
+					captureSpace.addPiece(p);
+				}
+			}
+			if (!captureSpace.getPieces().isEmpty()) {
+				possibleMoves.add(captureSpace);
+			}
+			reachable &= reachable - 1;
+		}
+		return possibleMoves;
+	}
+
 	/**
 	 * Returns a list of possible spaces a single piece can move to according to the rules of Chess.
 	 * This method accounts for putting the king in check.
@@ -216,6 +228,20 @@ public class ChessPlayer {
 	 * @return an ArrayList of possible ChessSpaces
 	 */
 	public ArrayList<ChessSpace> getPossibleMoves(ChessPiece p) {
+		if (board.getBitBoard() != null) {
+			legalMoves.clear();
+			board.generateLegalMoves(p, legalMoves, false);
+			long targets = 0;
+			for (int i = 0; i < legalMoves.size(); i++) {
+				targets |= 1L << Move.getTo(legalMoves.get(i));
+			}
+			ArrayList<ChessSpace> possibleMoves = new ArrayList<ChessSpace>(Long.bitCount(targets));
+			while (targets != 0) {
+				possibleMoves.add(board.getSpace(Long.numberOfTrailingZeros(targets)));
+				targets &= targets - 1;
+			}
+			return possibleMoves;
+		}
 		ArrayList<ChessSpace> possibleMoves = board.findPossibleMoves(p, false);
 		for (int i = possibleMoves.size() - 1; i >= 0; i--) {
 			if (moveLeavesKingInCheck(p, possibleMoves.get(i))) {
@@ -263,6 +289,15 @@ public class ChessPlayer {
 	 * @return 1 if checkmate, 2 if stalemate, 0 otherwise
 	 */
 	public int checkEndConditions() {
+		if (board.getBitBoard() != null) {
+			// only the number of moves matters, so the legal moves are not turned into CaptureSpaces
+			legalMoves.clear();
+			board.generateLegalMoves(BitBoard.colorIndex(king.getColor()), legalMoves, false);
+			if (legalMoves.size() == 0) {
+				return king.getCheck() ? 1 : 2;
+			}
+			return 0;
+		}
 		ArrayList<CaptureSpace> possibleMoves = getPossibleMoves();
 		if (inCheckmate(possibleMoves)) {
 			return 1;
@@ -14,6 +14,7 @@ public class ChessSpace {
 	private ChessPiece currentPiece;
 	private int row;
 	private int col;
+	private ChessBoard board; // the board the space belongs to, if any
 
 	/**
 	 * Constructs the space based on row and column indices.
@@ -60,6 +61,19 @@ public class ChessSpace {
 	 */
 	public void setPiece(ChessPiece newPiece) {
 		currentPiece = newPiece;
+		if (board != null) {
+			board.spaceChanged(this);
+		}
+	}
+
+	/**
+	 * Sets the board the space belongs to. The board is notified whenever the piece on the space changes, so that it can keep its other
+	 * representations of the position in sync.
+	 * 
+	 * @param newBoard the board the space belongs to
+	 */
+	void setBoard(ChessBoard newBoard) {
+		board = newBoard;
 	}
 
 	/**
@@ -0,0 +1,44 @@
+package cs242.chess;
+
+import cs242.chess.pieces.ChessPiece;
+
+/**
+ * A static evaluation of chess positions that is kept up to date by a ChessBoard. Every time the piece on a square of the board changes,
+ * the board tells its evaluator, so an evaluator can keep running totals and score a position without looking at every piece. A piece
+ * whose value changes (a Boo that absorbs a piece) is always put on its space again afterwards, so the new value reaches the evaluator.
+ *
+ * Evaluators are only kept by standard 8x8 boards. See ChessBoard.setEvaluator.
+ *
+ * @author REN-JAY_2
+ *
+ */
+public interface Evaluator {
+
+	/**
+	 * Forgets every piece, as if the board were empty.
+	 */
+	public void clear();
+
+	/**
+	 * Records the piece now on a square, replacing whatever the evaluator had for the square.
+	 *
+	 * @param square the square index (row * 8 + col)
+	 * @param piece the piece on the square, or null if the square is empty
+	 */
+	public void update(int square, ChessPiece piece);
+
+	/**
+	 * Scores the position, in hundredths of a Pawn.
+	 *
+	 * @param colorIndex the side the score is for, BitBoard.WHITE or BitBoard.BLACK
+	 * @return the score, positive if the side is better
+	 */
+	public int evaluate(int colorIndex);
+
+	/**
+	 * Creates a new, empty evaluator of the same kind and with the same settings, for a copy of the board.
+	 *
+	 * @return the new evaluator
+	 */
+	public Evaluator create();
+}
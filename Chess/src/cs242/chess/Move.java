@@ -0,0 +1,143 @@
+package cs242.chess;
+
+import cs242.chess.pieces.ChessPiece;
+
+/**
+ * Static methods for moves encoded in a single int, so that move lists can be stored without creating objects. The bits of a move are:
+ * 
+ * <pre>
+ * bits 0-5    the square the piece moves from (row * 8 + col)
+ * bits 6-11   the square the piece moves to
+ * bits 12-15  the type of the moving piece
+ * bits 16-19  the type of the piece on the target square, or ChessPiece.NONE
+ * bits 20-23  the type a Pawn is promoted to, or ChessPiece.NONE
+ * bit 24      set if the move is an Exile shockwave
+ * </pre>
+ * 
+ * The value 0 is never a real move (it would move a piece to its own square), so it is used to mean "no move".
+ * 
+ * @author REN-JAY_2
+ * 
+ */
+public final class Move {
+
+	public static final int NONE = 0;
+
+	private static final int SQUARE_MASK = 0x3F;
+	private static final int TYPE_MASK = 0xF;
+	private static final int TO_SHIFT = 6;
+	private static final int MOVER_SHIFT = 12;
+	private static final int CAPTURED_SHIFT = 16;
+	private static final int PROMOTION_SHIFT = 20;
+	private static final int SHOCKWAVE_FLAG = 1 << 24;
+
+	private Move() {
+	}
+
+	/**
+	 * Encodes a move.
+	 * 
+	 * @param from the square the piece moves from
+	 * @param to the square the piece moves to
+	 * @param moverType the type of the moving piece
+	 * @param capturedType the type of the piece on the target square, or ChessPiece.NONE
+	 * @param promotionType the type a Pawn is promoted to, or ChessPiece.NONE
+	 * @param shockwave true if the move is an Exile shockwave
+	 * @return the encoded move
+	 */
+	public static int create(int from, int to, int moverType, int capturedType, int promotionType, boolean shockwave) {
+		int move = from | (to << TO_SHIFT) | (moverType << MOVER_SHIFT) | (capturedType << CAPTURED_SHIFT)
+				| (promotionType << PROMOTION_SHIFT);
+		return shockwave ? move | SHOCKWAVE_FLAG : move;
+	}
+
+	/**
+	 * Returns the square the piece moves from.
+	 * 
+	 * @param move the encoded move
+	 * @return the square index
+	 */
+	public static int getFrom(int move) {
+		return move & SQUARE_MASK;
+	}
+
+	/**
+	 * Returns the square the piece moves to. For a shockwave, this is the target the Exile fires at.
+	 * 
+	 * @param move the encoded move
+	 * @return the square index
+	 */
+	public static int getTo(int move) {
+		return (move >>> TO_SHIFT) & SQUARE_MASK;
+	}
+
+	/**
+	 * Returns the type of the moving piece.
+	 * 
+	 * @param move the encoded move
+	 * @return one of the ChessPiece type constants
+	 */
+	public static int getMoverType(int move) {
+		return (move >>> MOVER_SHIFT) & TYPE_MASK;
+	}
+
+	/**
+	 * Returns the type of the piece on the target square.
+	 * 
+	 * @param move the encoded move
+	 * @return one of the ChessPiece type constants, or ChessPiece.NONE
+	 */
+	public static int getCapturedType(int move) {
+		return (move >>> CAPTURED_SHIFT) & TYPE_MASK;
+	}
+
+	/**
+	 * Returns the type a Pawn is promoted to.
+	 * 
+	 * @param move the encoded move
+	 * @return one of the ChessPiece type constants, or ChessPiece.NONE
+	 */
+	public static int getPromotionType(int move) {
+		return (move >>> PROMOTION_SHIFT) & TYPE_MASK;
+	}
+
+	/**
+	 * Returns whether or not the move is an Exile shockwave.
+	 * 
+	 * @param move the encoded move
+	 * @return true if the move is a shockwave, false otherwise
+	 */
+	public static boolean isShockwave(int move) {
+		return (move & SHOCKWAVE_FLAG) != 0;
+	}
+
+	/**
+	 * Returns whether or not the move removes an enemy piece: a capture or a shockwave.
+	 * 
+	 * @param move the encoded move
+	 * @return true if the move captures, false otherwise
+	 */
+	public static boolean isCapture(int move) {
+		return getCapturedType(move) != ChessPiece.NONE || isShockwave(move);
+	}
+
+	/**
+	 * Returns a string representation of the move.
+	 * 
+	 * @param move the encoded move
+	 * @return a string representation
+	 */
+	public static String toString(int move) {
+		int from = getFrom(move);
+		int to = getTo(move);
+		String text = "(" + from / BitBoard.SIZE + ", " + from % BitBoard.SIZE + ") -> (" + to / BitBoard.SIZE + ", " + to % BitBoard.SIZE
+				+ ")";
+		if (isShockwave(move)) {
+			text += " shockwave";
+		}
+		if (getPromotionType(move) != ChessPiece.NONE) {
+			text += " promotes to " + getPromotionType(move);
+		}
+		return text;
+	}
+}
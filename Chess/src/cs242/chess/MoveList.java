@@ -0,0 +1,104 @@
+package cs242.chess;
+
+/**
+ * A growable list of moves encoded as ints (see Move). The list keeps its array when it is cleared, so one MoveList can be reused for
+ * every position without creating new objects.
+ * 
+ * @author REN-JAY_2
+ * 
+ */
+public class MoveList {
+
+	private int[] moves;
+	private int size;
+
+	/**
+	 * Creates an empty MoveList with room for a typical number of moves.
+	 */
+	public MoveList() {
+		this(64);
+	}
+
+	/**
+	 * Creates an empty MoveList with a given starting capacity.
+	 * 
+	 * @param capacity the number of moves the list can hold before it grows
+	 */
+	public MoveList(int capacity) {
+		moves = new int[Math.max(capacity, 1)];
+	}
+
+	/**
+	 * Adds a move to the end of the list.
+	 * 
+	 * @param move the encoded move
+	 */
+	public void add(int move) {
+		if (size == moves.length) {
+			int[] newMoves = new int[2 * moves.length];
+			System.arraycopy(moves, 0, newMoves, 0, size);
+			moves = newMoves;
+		}
+		moves[size++] = move;
+	}
+
+	/**
+	 * Returns the move at an index.
+	 * 
+	 * @param index the index of the move
+	 * @return the encoded move
+	 */
+	public int get(int index) {
+		return moves[index];
+	}
+
+	/**
+	 * Replaces the move at an index.
+	 * 
+	 * @param index the index of the move
+	 * @param move the new encoded move
+	 */
+	public void set(int index, int move) {
+		moves[index] = move;
+	}
+
+	/**
+	 * Removes the move at an index by moving the last move into its place. The order of the list is not kept.
+	 * 
+	 * @param index the index of the move to remove
+	 */
+	public void remove(int index) {
+		moves[index] = moves[--size];
+	}
+
+	/**
+	 * Returns whether or not the list contains a move.
+	 * 
+	 * @param move the encoded move
+	 * @return true if the move is in the list, false otherwise
+	 */
+	public boolean contains(int move) {
+		for (int i = 0; i < size; i++) {
+			if (moves[i] == move) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the number of moves in the list.
+	 * 
+	 * @return the number of moves
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all moves from the list. The underlying array is kept.
+	 */
+	public void clear() {
+		size = 0;
+	}
+}
@@ -0,0 +1,205 @@
+package cs242.chess;
+
+import cs242.chess.pieces.ChessPiece;
+
+/**
+ * Orders the moves of a Search so that the moves most likely to be best are searched first. The move from the transposition table comes
+ * first, then captures and Queen promotions by MVV-LVA (the most valuable victim first, and of equal victims the least valuable attacker
+ * first), then the two killer moves of the ply, then the other quiet moves by their history score, then the other promotions, and last the
+ * captures that lose material according to the static exchange evaluation.
+ *
+ * Captures are valued with the pieces' current values, so a Boo that has absorbed pieces is worth capturing more, and a shockwave is valued
+ * by every enemy piece in its cone. A killer move is a quiet move that caused a cutoff at the same ply in another part of the tree. The
+ * history table counts, for each side, origin and target square, how often a quiet move caused a cutoff, weighted by depth.
+ *
+ * Each Search keeps its own MoveOrderer, so the tables are not shared between threads.
+ *
+ * @author REN-JAY_2
+ *
+ */
+public class MoveOrderer {
+
+	public static final int KILLER_SCORE = 1 << 27; // moves scored below this are neither captures, Queen promotions nor killers
+
+	private static final int TABLE_MOVE_SCORE = 1 << 30;
+	private static final int CAPTURE_SCORE = 1 << 28;
+	private static final int HISTORY_LIMIT = 1 << 26; // history scores are halved before they reach the killers
+	private static final int UNDERPROMOTION_SCORE = -1;
+	private static final int LOSING_CAPTURE_SCORE = -(1 << 20);
+	private static final int QUEEN_PROMOTION_GAIN = 8; // a Queen (9) for a Pawn (1)
+	private static final int SQUARES = BitBoard.SIZE * BitBoard.SIZE;
+
+	private ChessBoard board;
+	private int[][] killers; // two per ply
+	private int[][][] history; // indexed by side, origin square and target square
+	private int[][] scores; // the score of each move of each ply
+
+	/**
+	 * Constructs a MoveOrderer for the moves of a board.
+	 *
+	 * @param board the board the moves are made on
+	 * @param maxPly the number of plies to keep killer moves for
+	 */
+	public MoveOrderer(ChessBoard board, int maxPly) {
+		this.board = board;
+		killers = new int[maxPly][2];
+		history = new int[2][SQUARES][SQUARES];
+		scores = new int[maxPly][64];
+	}
+
+	/**
+	 * Sets the board the moves are made on, so that the killer and history tables can be used for the next move on a new copy of the
+	 * position.
+	 *
+	 * @param newBoard the board the moves are made on
+	 */
+	public void setBoard(ChessBoard newBoard) {
+		board = newBoard;
+	}
+
+	/**
+	 * Forgets the killer moves and halves the history scores, so that a new search still starts with an idea of the good moves.
+	 */
+	public void newSearch() {
+		for (int[] plyKillers : killers) {
+			plyKillers[0] = Move.NONE;
+			plyKillers[1] = Move.NONE;
+		}
+		halveHistory(BitBoard.WHITE);
+		halveHistory(BitBoard.BLACK);
+	}
+
+	/**
+	 * Forgets the killer moves and the history scores.
+	 */
+	public void clear() {
+		for (int[] plyKillers : killers) {
+			plyKillers[0] = Move.NONE;
+			plyKillers[1] = Move.NONE;
+		}
+		for (int[][] sideHistory : history) {
+			for (int[] from : sideHistory) {
+				for (int to = 0; to < SQUARES; to++) {
+					from[to] = 0;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Scores the moves of a ply so that they can be taken in order with next. This must be called before the moves are made.
+	 *
+	 * @param moves the moves of the ply
+	 * @param ply the ply of the moves
+	 * @param tableMove the move from the transposition table, or Move.NONE
+	 */
+	public void scoreMoves(MoveList moves, int ply, int tableMove) {
+		if (scores[ply].length < moves.size()) {
+			scores[ply] = new int[2 * moves.size()];
+		}
+		int[] plyScores = scores[ply];
+		int side = board.getSideToMove();
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			int promotionType = Move.getPromotionType(move);
+			if (move == tableMove) {
+				plyScores[i] = TABLE_MOVE_SCORE;
+			} else if (Move.isCapture(move) || promotionType == ChessPiece.QUEEN) {
+				int attacker = board.getSpace(Move.getFrom(move)).getPiece().getValue();
+				int victim = board.getCaptureValue(move);
+				if (promotionType != ChessPiece.NONE) {
+					victim += QUEEN_PROMOTION_GAIN;
+				}
+				int score = victim * 256 - Math.min(attacker, 255);
+				// a capture of a cheaper piece may still win material, but only the exchange on the square can tell
+				if (victim < attacker && board.staticExchange(move) < 0) {
+					plyScores[i] = LOSING_CAPTURE_SCORE + score;
+				} else {
+					plyScores[i] = CAPTURE_SCORE + score;
+				}
+			} else if (promotionType != ChessPiece.NONE) {
+				plyScores[i] = UNDERPROMOTION_SCORE - i;
+			} else if (move == killers[ply][0]) {
+				plyScores[i] = KILLER_SCORE + 1;
+			} else if (move == killers[ply][1]) {
+				plyScores[i] = KILLER_SCORE;
+			} else {
+				plyScores[i] = history[side][Move.getFrom(move)][Move.getTo(move)];
+			}
+		}
+	}
+
+	/**
+	 * Moves the best scored move at or after an index to the index and returns it. Calling this for each index in turn gives the moves in
+	 * order, without sorting the moves that are never reached because of a cutoff.
+	 *
+	 * @param moves the moves of the ply, scored with scoreMoves
+	 * @param ply the ply of the moves
+	 * @param index the index of the next move to search
+	 * @return the next move
+	 */
+	public int next(MoveList moves, int ply, int index) {
+		int[] plyScores = scores[ply];
+		int best = index;
+		for (int i = index + 1; i < moves.size(); i++) {
+			if (plyScores[i] > plyScores[best]) {
+				best = i;
+			}
+		}
+		int move = moves.get(best);
+		if (best != index) {
+			moves.set(best, moves.get(index));
+			moves.set(index, move);
+			int score = plyScores[best];
+			plyScores[best] = plyScores[index];
+			plyScores[index] = score;
+		}
+		return move;
+	}
+
+	/**
+	 * Returns the score of a move that has been taken with next.
+	 *
+	 * @param ply the ply of the move
+	 * @param index the index the move was taken at
+	 * @return the score of the move. History scores of quiet moves start at 0, and underpromotions and losing captures are negative.
+	 */
+	public int getScore(int ply, int index) {
+		return scores[ply][index];
+	}
+
+	/**
+	 * Records that a move caused a cutoff. Quiet moves become killers of the ply and gain history; captures and promotions are already
+	 * searched early, so they are not recorded.
+	 *
+	 * @param move the move that caused the cutoff
+	 * @param side the side that made the move
+	 * @param ply the ply of the move
+	 * @param depth the remaining depth of the search at the move
+	 */
+	public void addCutoff(int move, int side, int ply, int depth) {
+		if (Move.isCapture(move) || Move.getPromotionType(move) != ChessPiece.NONE) {
+			return;
+		}
+		if (killers[ply][0] != move) {
+			killers[ply][1] = killers[ply][0];
+			killers[ply][0] = move;
+		}
+		int[] from = history[side][Move.getFrom(move)];
+		from[Move.getTo(move)] += depth * depth;
+		if (from[Move.getTo(move)] >= HISTORY_LIMIT) {
+			halveHistory(side);
+		}
+	}
+
+	/**
+	 * A helper method that halves the history scores of a side.
+	 */
+	private void halveHistory(int side) {
+		for (int[] from : history[side]) {
+			for (int to = 0; to < SQUARES; to++) {
+				from[to] /= 2;
+			}
+		}
+	}
+}
@@ -0,0 +1,232 @@
+package cs242.chess;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A Lazy SMP search: several Search objects search the same position at the same time, each on its own copy of the board, and share one
+ * TranspositionTable. The threads do not talk to each other; they help by filling the table with results the others can use. Helper
+ * threads start one ply deeper on every other thread so that they do not all search the same depth. The calling thread runs the main
+ * search. When it stops, the helpers are stopped too, and the move of the search that finished the deepest iteration is returned.
+ *
+ * The searches only use their ChessBoard copies and the table, so they never touch the board being displayed or any other GUI state. The
+ * Search objects, with their move lists and move ordering tables, and the helper threads are made on the first search and kept for the
+ * next ones; only the board copies are new for each move, so the killer and history tables of each thread carry over to the next move. Call shutdown() to stop the helper threads once the search is not needed.
+ *
+ * @author REN-JAY_2
+ *
+ */
+public class ParallelSearch {
+
+	private TranspositionTable table;
+	private int threadCount;
+	private long timeLimit; // in milliseconds. 0 means no limit
+	private long nodeLimit; // for the main search. 0 means no limit
+	private int maxDepth = Search.MAX_PLY - 1;
+	private int pruning = Search.ALL_PRUNING;
+	private Search[] searches; // one per thread, made on the first search
+	private Runnable[] helperTasks;
+	private Future<?>[] helperResults;
+	private ExecutorService helpers; // the threads of the helper searches, started on the first search
+	private int completedDepth;
+	private int bestScore;
+	private long nodes;
+
+	/**
+	 * Constructs a parallel search.
+	 *
+	 * @param table the transposition table shared by all threads
+	 * @param threadCount the number of threads to search with, including the calling thread
+	 */
+	public ParallelSearch(TranspositionTable table, int threadCount) {
+		this.table = table;
+		this.threadCount = Math.max(1, threadCount);
+		searches = new Search[this.threadCount];
+		helperTasks = new Runnable[this.threadCount - 1];
+		helperResults = new Future<?>[this.threadCount - 1];
+	}
+
+	/**
+	 * Sets the longest time the search may take.
+	 *
+	 * @param millis the time limit in milliseconds, or 0 for no limit
+	 */
+	public void setTimeLimit(long millis) {
+		timeLimit = millis;
+	}
+
+	/**
+	 * Sets the largest number of positions the main search may visit. The helpers stop when the main search does.
+	 *
+	 * @param limit the node limit, or 0 for no limit
+	 */
+	public void setNodeLimit(long limit) {
+		nodeLimit = limit;
+	}
+
+	/**
+	 * Sets the deepest iteration any thread will run.
+	 *
+	 * @param depth the depth limit in plies
+	 */
+	public void setMaxDepth(int depth) {
+		maxDepth = depth;
+	}
+
+	/**
+	 * Chooses the selective search techniques every thread uses. See Search.setPruning.
+	 *
+	 * @param techniques Search.NULL_MOVE, LATE_MOVE_REDUCTIONS, FUTILITY and RAZORING combined with |, or 0 for a full-width search
+	 */
+	public void setPruning(int techniques) {
+		pruning = techniques;
+	}
+
+	/**
+	 * Returns the number of threads the search uses.
+	 *
+	 * @return the number of threads
+	 */
+	public int getThreadCount() {
+		return threadCount;
+	}
+
+	/**
+	 * Searches a position and returns the best move found. The board itself is not changed; every thread searches a copy of it.
+	 *
+	 * @param board the position to search. It must be a standard 8x8 board.
+	 * @param colorIndex the side to move, BitBoard.WHITE or BitBoard.BLACK
+	 * @return the encoded best move, or Move.NONE if the side to move has no legal move
+	 */
+	public int findBestMove(ChessBoard board, int colorIndex) {
+		table.newSearch();
+		for (int i = 0; i < threadCount; i++) {
+			ChessBoard searchBoard = (ChessBoard) board.copy();
+			searchBoard.setAttackMapEnabled(false); // a search only needs a few attack queries per position
+			searchBoard.setSideToMove(colorIndex);
+			if (searches[i] == null) {
+				searches[i] = new Search(searchBoard, table);
+				searches[i].setStartDepth(1 + i % 2);
+			} else {
+				searches[i].setBoard(searchBoard);
+			}
+			searches[i].setMaxDepth(maxDepth);
+			searches[i].setPruning(pruning);
+		}
+		if (helpers == null && threadCount > 1) {
+			startHelpers();
+		}
+		for (int i = 0; i < helperTasks.length; i++) {
+			helperResults[i] = helpers.submit(helperTasks[i]);
+		}
+		Search main = searches[0];
+		main.setTimeLimit(timeLimit);
+		main.setNodeLimit(nodeLimit);
+		main.findBestMove();
+		for (int i = 1; i < threadCount; i++) {
+			searches[i].stop();
+		}
+		boolean interrupted = false;
+		for (Future<?> result : helperResults) {
+			boolean finished = false;
+			while (!finished) { // a helper must be finished before its Search is given the next board
+				try {
+					result.get();
+					finished = true;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					throw new IllegalStateException("A helper search failed", e.getCause());
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		Search best = main;
+		nodes = 0;
+		for (Search search : searches) {
+			nodes += search.getNodes();
+			if (search.getCompletedDepth() > best.getCompletedDepth() && search.getBestMove() != Move.NONE) {
+				best = search;
+			}
+		}
+		completedDepth = best.getCompletedDepth();
+		bestScore = best.getBestScore();
+		return best.getBestMove();
+	}
+
+	/**
+	 * Forgets the killer moves and history scores of every thread's search.
+	 */
+	public void clearHistory() {
+		for (Search search : searches) {
+			if (search != null) {
+				search.clearHistory();
+			}
+		}
+	}
+
+	/**
+	 * Stops the helper threads. The search can not be used after this.
+	 */
+	public void shutdown() {
+		if (helpers != null) {
+			helpers.shutdownNow();
+		}
+	}
+
+	/**
+	 * A helper method that starts the helper threads and makes the task each of them runs for a move. The threads are daemons that wait
+	 * for the next move between searches.
+	 */
+	private void startHelpers() {
+		helpers = Executors.newFixedThreadPool(threadCount - 1, new ThreadFactory() {
+			private int count;
+
+			public Thread newThread(Runnable task) {
+				Thread thread = new Thread(task, "Search helper " + ++count);
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		for (int i = 0; i < helperTasks.length; i++) {
+			final Search helper = searches[i + 1];
+			helperTasks[i] = new Runnable() {
+				public void run() {
+					helper.findBestMove();
+				}
+			};
+		}
+	}
+
+	/**
+	 * Returns the depth of the deepest iteration finished by any thread in the last search.
+	 *
+	 * @return the depth in plies
+	 */
+	public int getCompletedDepth() {
+		return completedDepth;
+	}
+
+	/**
+	 * Returns the score of the move returned by the last search.
+	 *
+	 * @return the score from the point of view of the side to move
+	 */
+	public int getBestScore() {
+		return bestScore;
+	}
+
+	/**
+	 * Returns the number of positions visited by all threads in the last search.
+	 *
+	 * @return the number of nodes
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+}
@@ -0,0 +1,343 @@
+package cs242.chess;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import cs242.chess.pieces.Bishop;
+import cs242.chess.pieces.Boo;
+import cs242.chess.pieces.ChessPiece;
+import cs242.chess.pieces.Exile;
+import cs242.chess.pieces.King;
+import cs242.chess.pieces.Knight;
+import cs242.chess.pieces.Pawn;
+import cs242.chess.pieces.Queen;
+import cs242.chess.pieces.Rook;
+
+/**
+ * Counts the positions reached by every sequence of legal moves to a fixed depth (a "perft"), to check the move generator against known
+ * counts and to measure how fast it is. The counts can be split by the first move (a "divide"), which shows which move a wrong count
+ * comes from when two versions of the generator disagree.
+ *
+ * With bulk counting, the last ply is not played: the number of legal moves of each position one ply from the end is added at once. The
+ * count is the same, but makeMove and unmakeMove are skipped for most of the positions. The moves of the first ply can be shared between
+ * several threads, each with its own copy of the board. A thread takes the next first move nobody has taken, so a thread that finishes a
+ * small subtree early does not wait for the others.
+ *
+ * Positions can be given as text (see createBoard), so the counts of any position can be checked from the command line:
+ *
+ * <pre>
+ * java cs242.chess.Perft &lt;depth&gt; [threads] [position]
+ * </pre>
+ *
+ * @author REN-JAY_2
+ *
+ */
+public class Perft {
+
+	public static final String START_POSITION = "rnbqkbnr/poppppxp/8/8/8/8/PXPPPPOP/RNBQKBNR w"; // setChessBoard and addNewPieces
+	public static final String STANDARD_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w"; // setChessBoard only
+
+	private static final String PIECE_LETTERS = " pnbrqkox"; // by type. Upper case for white, lower case for black
+
+	private ChessBoard board;
+	private boolean bulkCounting = true;
+	private int threadCount = 1;
+	private long nodes;
+	private long elapsed; // in nanoseconds
+
+	/**
+	 * Constructs a perft of a position. The board itself is never changed; the counting is done on copies of it.
+	 *
+	 * @param board the position to count from, with its side to move. It must be a standard 8x8 board.
+	 */
+	public Perft(ChessBoard board) {
+		this.board = board;
+	}
+
+	/**
+	 * Sets whether the last ply is counted from the size of the move lists instead of being played.
+	 *
+	 * @param enabled true to count the last ply in bulk, false to make and take back every move
+	 */
+	public void setBulkCounting(boolean enabled) {
+		bulkCounting = enabled;
+	}
+
+	/**
+	 * Sets the number of threads the moves of the first ply are shared between.
+	 *
+	 * @param count the number of threads, including the calling thread
+	 */
+	public void setThreadCount(int count) {
+		threadCount = Math.max(1, count);
+	}
+
+	/**
+	 * Counts the positions at a depth.
+	 *
+	 * @param depth the number of plies to play
+	 * @return the number of positions reached at the depth, counting a position once for every way of reaching it
+	 */
+	public long perft(int depth) {
+		return divide(depth, new MoveList())[0];
+	}
+
+	/**
+	 * Counts the positions at a depth, split by the first move.
+	 *
+	 * @param depth the number of plies to play
+	 * @param rootMoves the list the legal first moves are put into. It is cleared first.
+	 * @return an array one longer than rootMoves: the total count, then the count below every first move in the order of rootMoves
+	 */
+	public long[] divide(final int depth, final MoveList rootMoves) {
+		long start = System.nanoTime();
+		rootMoves.clear();
+		board.generateLegalMoves(board.getSideToMove(), rootMoves, false);
+		final long[] counts = new long[rootMoves.size() + 1];
+		if (depth <= 0) {
+			counts[0] = 1;
+		} else {
+			final AtomicInteger nextMove = new AtomicInteger();
+			int helperCount = Math.min(threadCount, rootMoves.size()) - 1;
+			Thread[] helpers = new Thread[Math.max(helperCount, 0)];
+			for (int i = 0; i < helpers.length; i++) {
+				helpers[i] = new Thread(new Runnable() {
+					public void run() {
+						countRootMoves(depth, rootMoves, counts, nextMove);
+					}
+				}, "Perft helper " + (i + 1));
+				helpers[i].start();
+			}
+			countRootMoves(depth, rootMoves, counts, nextMove);
+			for (Thread helper : helpers) {
+				try {
+					helper.join();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			for (int i = 1; i < counts.length; i++) {
+				counts[0] += counts[i];
+			}
+		}
+		nodes = counts[0];
+		elapsed = System.nanoTime() - start;
+		return counts;
+	}
+
+	/**
+	 * Returns the number of positions counted by the last perft or divide.
+	 *
+	 * @return the number of nodes
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Returns how long the last perft or divide took.
+	 *
+	 * @return the time in milliseconds
+	 */
+	public long getElapsedMillis() {
+		return elapsed / 1000000;
+	}
+
+	/**
+	 * Returns the speed of the last perft or divide.
+	 *
+	 * @return the number of positions counted per second
+	 */
+	public long getNodesPerSecond() {
+		return elapsed == 0 ? 0 : nodes * 1000000000L / elapsed;
+	}
+
+	/**
+	 * A helper method run by every thread of a divide. It takes first moves that no thread has taken yet and counts below each one on its
+	 * own copy of the board, until there are none left.
+	 *
+	 * @param depth the depth of the divide
+	 * @param rootMoves the legal first moves
+	 * @param counts the array the count of the i-th first move is stored at index i + 1
+	 * @param nextMove the index of the next first move to take
+	 */
+	private void countRootMoves(int depth, MoveList rootMoves, long[] counts, AtomicInteger nextMove) {
+		ChessBoard copy = null;
+		MoveList[] moveLists = new MoveList[depth];
+		for (int i = 0; i < depth; i++) {
+			moveLists[i] = new MoveList();
+		}
+		int index;
+		while ((index = nextMove.getAndIncrement()) < rootMoves.size()) {
+			if (copy == null) {
+				copy = (ChessBoard) board.copy();
+				copy.setAttackMapEnabled(false); // only checks are needed, and those are found by getAttackers
+				copy.setSideToMove(board.getSideToMove());
+			}
+			copy.makeMove(rootMoves.get(index));
+			counts[index + 1] = count(copy, depth - 1, moveLists, 1);
+			copy.unmakeMove();
+		}
+	}
+
+	/**
+	 * A helper method that counts the positions below a position.
+	 *
+	 * @param board the board, which is left as it was found
+	 * @param depth the number of plies left to play
+	 * @param moveLists a MoveList for every ply, so no lists are created while counting
+	 * @param ply the number of plies played so far
+	 * @return the number of positions at the depth
+	 */
+	private long count(ChessBoard board, int depth, MoveList[] moveLists, int ply) {
+		if (depth == 0) {
+			return 1;
+		}
+		MoveList moves = moveLists[ply];
+		moves.clear();
+		board.generateLegalMoves(board.getSideToMove(), moves, false);
+		if (depth == 1 && bulkCounting) {
+			return moves.size();
+		}
+		long total = 0;
+		for (int i = 0; i < moves.size(); i++) {
+			board.makeMove(moves.get(i));
+			total += count(board, depth - 1, moveLists, ply + 1);
+			board.unmakeMove();
+		}
+		return total;
+	}
+
+	/**
+	 * Creates a board from a position written as text. The rows are listed from row 0 (black's side) to row 7, separated by '/'. In a
+	 * row, a letter is a piece and a digit is that many empty spaces. The letters are p, n, b, r, q and k for the standard pieces, o for
+	 * Boo and x for Exile, in upper case for white and lower case for black. An Exile followed by '*' has made 3 captures and can fire a
+	 * shockwave, and a Boo can be followed by the letters of the pieces it has absorbed in brackets, such as "O[nb]". White Pawns move up
+	 * and black Pawns move down. The rows may be followed by a space and "w" or "b" for the side to move, which is white otherwise.
+	 *
+	 * @param position the position, such as START_POSITION
+	 * @return a new 8x8 board with the position
+	 * @throws IllegalArgumentException if the text is not a position
+	 */
+	public static ChessBoard createBoard(String position) {
+		String[] fields = position.trim().split("\\s+");
+		String[] rows = fields[0].split("/");
+		if (rows.length != BitBoard.SIZE) {
+			throw new IllegalArgumentException("A position needs " + BitBoard.SIZE + " rows: " + position);
+		}
+		ChessBoard board = new ChessBoard();
+		for (int row = 0; row < BitBoard.SIZE; row++) {
+			String text = rows[row];
+			int col = 0;
+			for (int i = 0; i < text.length(); i++) {
+				char letter = text.charAt(i);
+				if (Character.isDigit(letter)) {
+					col += letter - '0';
+					continue;
+				}
+				if (col >= BitBoard.SIZE) {
+					throw new IllegalArgumentException("Row " + row + " is too long: " + position);
+				}
+				ChessSpace space = board.getPointValue(row, col);
+				ChessPiece piece = createPiece(letter, space, board);
+				if (piece instanceof Exile && i + 1 < text.length() && text.charAt(i + 1) == '*') {
+					((Exile) piece).setCaptureCount(3);
+					i++;
+				} else if (piece instanceof Boo && i + 1 < text.length() && text.charAt(i + 1) == '[') {
+					int end = text.indexOf(']', i);
+					if (end < 0) {
+						throw new IllegalArgumentException("Missing ']' in row " + row + ": " + position);
+					}
+					for (int j = i + 2; j < end; j++) {
+						ChessPiece absorbed = createPiece(text.charAt(j), null, board);
+						((Boo) piece).getCaptured().add(absorbed);
+						piece.setValue(piece.getValue() + absorbed.getValue());
+					}
+					i = end;
+				}
+				space.setPiece(piece);
+				col++;
+			}
+			if (col != BitBoard.SIZE) {
+				throw new IllegalArgumentException("Row " + row + " does not have " + BitBoard.SIZE + " spaces: " + position);
+			}
+		}
+		if (fields.length > 1) {
+			if (fields[1].equals("b")) {
+				board.setSideToMove(BitBoard.BLACK);
+			} else if (!fields[1].equals("w")) {
+				throw new IllegalArgumentException("The side to move must be w or b: " + position);
+			}
+		}
+		return board;
+	}
+
+	/**
+	 * A helper method that creates the piece of a letter of a position.
+	 *
+	 * @param letter the letter of the piece
+	 * @param space the space of the piece
+	 * @param board the board of the piece, which an Exile needs
+	 * @return the new piece
+	 * @throws IllegalArgumentException if the letter is not a piece
+	 */
+	private static ChessPiece createPiece(char letter, ChessSpace space, ChessBoard board) {
+		int side = Character.isUpperCase(letter) ? BitBoard.WHITE : BitBoard.BLACK;
+		int type = PIECE_LETTERS.indexOf(Character.toLowerCase(letter));
+		switch (type) {
+		case ChessPiece.PAWN:
+			return new Pawn(side, space, side == BitBoard.WHITE ? 1 : 0);
+		case ChessPiece.KNIGHT:
+			return new Knight(side, space);
+		case ChessPiece.BISHOP:
+			return new Bishop(side, space);
+		case ChessPiece.ROOK:
+			return new Rook(side, space);
+		case ChessPiece.QUEEN:
+			return new Queen(side, space);
+		case ChessPiece.KING:
+			return new King(side, space);
+		case ChessPiece.BOO:
+			return new Boo(side, space);
+		case ChessPiece.EXILE:
+			return new Exile(side, space, board);
+		default:
+			throw new IllegalArgumentException("Not a piece: " + letter);
+		}
+	}
+
+	/**
+	 * Counts the positions of every depth up to a given one, then prints the divide of the last depth.
+	 *
+	 * @param args the depth, then optionally the number of threads and a position (see createBoard). The start position with Boo and
+	 *            Exile pieces is used if no position is given.
+	 */
+	public static void main(String[] args) {
+		if (args.length == 0) {
+			System.out.println("Usage: java cs242.chess.Perft <depth> [threads] [position]");
+			return;
+		}
+		int depth = Integer.parseInt(args[0]);
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+		String position = START_POSITION;
+		if (args.length > 2) {
+			position = args[2];
+			for (int i = 3; i < args.length; i++) {
+				position += " " + args[i]; // the side to move may come as its own argument
+			}
+		}
+		Perft perft = new Perft(createBoard(position));
+		perft.setThreadCount(threads);
+		for (int d = 1; d < depth; d++) {
+			perft.perft(d);
+			System.out.println("depth " + d + ": " + perft.getNodes() + " nodes, " + perft.getElapsedMillis() + " ms, "
+					+ perft.getNodesPerSecond() + " nodes/s");
+		}
+		MoveList rootMoves = new MoveList();
+		long[] counts = perft.divide(depth, rootMoves);
+		for (int i = 0; i < rootMoves.size(); i++) {
+			System.out.println(Move.toString(rootMoves.get(i)) + ": " + counts[i + 1]);
+		}
+		System.out.println("depth " + depth + ": " + perft.getNodes() + " nodes, " + perft.getElapsedMillis() + " ms, "
+				+ perft.getNodesPerSecond() + " nodes/s");
+	}
+}
@@ -0,0 +1,188 @@
+package cs242.chess;
+
+import cs242.chess.pieces.ChessPiece;
+import cs242.chess.pieces.Pawn;
+
+/**
+ * An Evaluator that scores material and piece placement. Each piece is worth its value (a Boo including the pieces it has absorbed) plus a
+ * bonus from a piece-square table. There are two sets of tables: one for the middlegame and one for the endgame, where the King should
+ * come to the center and Pawns should run. The two scores are blended by the material left on the board, so the evaluation moves smoothly
+ * from one to the other as pieces are traded.
+ *
+ * The scores of every square are kept, so a change to a square only takes the square's old score off the totals and adds the new one, and
+ * evaluate is a few arithmetic operations. Kings are left out of the material, since both sides always have one.
+ *
+ * The tables are written from white's side, with row 0 at the top of the board. They are flipped for black pieces and for Pawns that move
+ * down the board.
+ *
+ * @author REN-JAY_2
+ *
+ */
+public class PieceSquareEvaluator implements Evaluator {
+
+	private static final int SQUARES = BitBoard.SIZE * BitBoard.SIZE;
+	private static final int[] PHASES = { 0, 0, 1, 1, 2, 4, 0, 2, 3 }; // by piece type. The starting position has MAX_PHASE
+	private static final int MAX_PHASE = 34;
+
+	private static final int[] PAWN_MIDDLEGAME = {
+			  0,   0,   0,   0,   0,   0,   0,   0,
+			 50,  50,  50,  50,  50,  50,  50,  50,
+			 10,  10,  20,  30,  30,  20,  10,  10,
+			  5,   5,  10,  25,  25,  10,   5,   5,
+			  0,   0,   0,  20,  20,   0,   0,   0,
+			  5,  -5, -10,   0,   0, -10,  -5,   5,
+			  5,  10,  10, -20, -20,  10,  10,   5,
+			  0,   0,   0,   0,   0,   0,   0,   0 };
+	private static final int[] PAWN_ENDGAME = {
+			  0,   0,   0,   0,   0,   0,   0,   0,
+			 80,  80,  80,  80,  80,  80,  80,  80,
+			 50,  50,  50,  50,  50,  50,  50,  50,
+			 30,  30,  30,  30,  30,  30,  30,  30,
+			 20,  20,  20,  20,  20,  20,  20,  20,
+			 10,  10,  10,  10,  10,  10,  10,  10,
+			  0,   0,   0,   0,   0,   0,   0,   0,
+			  0,   0,   0,   0,   0,   0,   0,   0 };
+	private static final int[] KNIGHT_TABLE = {
+			-50, -40, -30, -30, -30, -30, -40, -50,
+			-40, -20,   0,   0,   0,   0, -20, -40,
+			-30,   0,  10,  15,  15,  10,   0, -30,
+			-30,   5,  15,  20,  20,  15,   5, -30,
+			-30,   0,  15,  20,  20,  15,   0, -30,
+			-30,   5,  10,  15,  15,  10,   5, -30,
+			-40, -20,   0,   5,   5,   0, -20, -40,
+			-50, -40, -30, -30, -30, -30, -40, -50 };
+	private static final int[] BISHOP_TABLE = {
+			-20, -10, -10, -10, -10, -10, -10, -20,
+			-10,   0,   0,   0,   0,   0,   0, -10,
+			-10,   0,   5,  10,  10,   5,   0, -10,
+			-10,   5,   5,  10,  10,   5,   5, -10,
+			-10,   0,  10,  10,  10,  10,   0, -10,
+			-10,  10,  10,  10,  10,  10,  10, -10,
+			-10,   5,   0,   0,   0,   0,   5, -10,
+			-20, -10, -10, -10, -10, -10, -10, -20 };
+	private static final int[] ROOK_TABLE = {
+			  0,   0,   0,   0,   0,   0,   0,   0,
+			  5,  10,  10,  10,  10,  10,  10,   5,
+			 -5,   0,   0,   0,   0,   0,   0,  -5,
+			 -5,   0,   0,   0,   0,   0,   0,  -5,
+			 -5,   0,   0,   0,   0,   0,   0,  -5,
+			 -5,   0,   0,   0,   0,   0,   0,  -5,
+			 -5,   0,   0,   0,   0,   0,   0,  -5,
+			  0,   0,   0,   5,   5,   0,   0,   0 };
+	private static final int[] QUEEN_TABLE = {
+			-20, -10, -10,  -5,  -5, -10, -10, -20,
+			-10,   0,   0,   0,   0,   0,   0, -10,
+			-10,   0,   5,   5,   5,   5,   0, -10,
+			 -5,   0,   5,   5,   5,   5,   0,  -5,
+			  0,   0,   5,   5,   5,   5,   0,  -5,
+			-10,   5,   5,   5,   5,   5,   0, -10,
+			-10,   0,   5,   0,   0,   0,   0, -10,
+			-20, -10, -10,  -5,  -5, -10, -10, -20 };
+	private static final int[] KING_MIDDLEGAME = {
+			-30, -40, -40, -50, -50, -40, -40, -30,
+			-30, -40, -40, -50, -50, -40, -40, -30,
+			-30, -40, -40, -50, -50, -40, -40, -30,
+			-30, -40, -40, -50, -50, -40, -40, -30,
+			-20, -30, -30, -40, -40, -30, -30, -20,
+			-10, -20, -20, -20, -20, -20, -20, -10,
+			 20,  20,   0,   0,   0,   0,  20,  20,
+			 20,  30,  10,   0,   0,  10,  30,  20 };
+	private static final int[] KING_ENDGAME = {
+			-50, -40, -30, -20, -20, -30, -40, -50,
+			-30, -20, -10,   0,   0, -10, -20, -30,
+			-30, -10,  20,  30,  30,  20, -10, -30,
+			-30, -10,  30,  40,  40,  30, -10, -30,
+			-30, -10,  30,  40,  40,  30, -10, -30,
+			-30, -10,  20,  30,  30,  20, -10, -30,
+			-30, -30,   0,   0,   0,   0, -30, -30,
+			-50, -30, -30, -30, -30, -30, -30, -50 };
+	// Boo and Exile move one square at a time like a King, so they are simply drawn to the center
+	private static final int[] CENTER_TABLE = {
+			-20, -10, -10, -10, -10, -10, -10, -20,
+			-10,   0,   0,   0,   0,   0,   0, -10,
+			-10,   0,  10,  10,  10,  10,   0, -10,
+			-10,   5,  10,  20,  20,  10,   5, -10,
+			-10,   5,  10,  20,  20,  10,   5, -10,
+			-10,   0,  10,  10,  10,  10,   0, -10,
+			-10,   0,   0,   0,   0,   0,   0, -10,
+			-20, -10, -10, -10, -10, -10, -10, -20 };
+
+	// indexed by piece type
+	private static final int[][] MIDDLEGAME_TABLES = { null, PAWN_MIDDLEGAME, KNIGHT_TABLE, BISHOP_TABLE, ROOK_TABLE, QUEEN_TABLE,
+			KING_MIDDLEGAME, CENTER_TABLE, CENTER_TABLE };
+	private static final int[][] ENDGAME_TABLES = { null, PAWN_ENDGAME, KNIGHT_TABLE, BISHOP_TABLE, ROOK_TABLE, QUEEN_TABLE, KING_ENDGAME,
+			CENTER_TABLE, CENTER_TABLE };
+
+	// the scores of each square from white's side, and their totals
+	private int[] middlegameScores = new int[SQUARES];
+	private int[] endgameScores = new int[SQUARES];
+	private int[] phases = new int[SQUARES];
+	private int middlegame;
+	private int endgame;
+	private int phase;
+
+	/**
+	 * Forgets every piece, as if the board were empty.
+	 */
+	public void clear() {
+		for (int square = 0; square < SQUARES; square++) {
+			middlegameScores[square] = 0;
+			endgameScores[square] = 0;
+			phases[square] = 0;
+		}
+		middlegame = 0;
+		endgame = 0;
+		phase = 0;
+	}
+
+	/**
+	 * Replaces the score of a square with the score of the piece now on it.
+	 *
+	 * @param square the square index (row * 8 + col)
+	 * @param piece the piece on the square, or null if the square is empty
+	 */
+	public void update(int square, ChessPiece piece) {
+		middlegame -= middlegameScores[square];
+		endgame -= endgameScores[square];
+		phase -= phases[square];
+		if (piece == null) {
+			middlegameScores[square] = 0;
+			endgameScores[square] = 0;
+			phases[square] = 0;
+			return;
+		}
+		int type = piece.getType();
+		boolean white = piece.getSide() == BitBoard.WHITE;
+		boolean up = piece instanceof Pawn ? ((Pawn) piece).getDirection() == 1 : white;
+		int tableSquare = up ? square : square ^ (SQUARES - BitBoard.SIZE); // flips the row
+		int material = type == ChessPiece.KING ? 0 : piece.getValue() * 100;
+		int sign = white ? 1 : -1;
+		middlegameScores[square] = sign * (material + MIDDLEGAME_TABLES[type][tableSquare]);
+		endgameScores[square] = sign * (material + ENDGAME_TABLES[type][tableSquare]);
+		phases[square] = PHASES[type];
+		middlegame += middlegameScores[square];
+		endgame += endgameScores[square];
+		phase += phases[square];
+	}
+
+	/**
+	 * Scores the position by blending the middlegame and endgame totals.
+	 *
+	 * @param colorIndex the side the score is for, BitBoard.WHITE or BitBoard.BLACK
+	 * @return the score in hundredths of a Pawn, positive if the side is better
+	 */
+	public int evaluate(int colorIndex) {
+		int middlegamePhase = Math.min(phase, MAX_PHASE); // promotions can add material beyond the start
+		int score = (middlegame * middlegamePhase + endgame * (MAX_PHASE - middlegamePhase)) / MAX_PHASE;
+		return colorIndex == BitBoard.WHITE ? score : -score;
+	}
+
+	/**
+	 * Creates a new, empty PieceSquareEvaluator.
+	 *
+	 * @return the new evaluator
+	 */
+	public Evaluator create() {
+		return new PieceSquareEvaluator();
+	}
+}
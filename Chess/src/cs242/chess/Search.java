@@ -0,0 +1,543 @@
+package cs242.chess;
+
+import cs242.chess.pieces.ChessPiece;
+
+/**
+ * A negamax alpha-beta search with iterative deepening. The search runs on its own ChessBoard with makeMove and unmakeMove, so the board
+ * should not be one that is being displayed. It searches one ply deeper each iteration until it runs out of time, nodes or depth, and
+ * returns the best move of the deepest iteration it got through. Results are kept in a TranspositionTable, which also gives the best move
+ * of the previous iteration to try first, and a MoveOrderer orders the other moves. The table may be shared with other searches running
+ * at the same time (see ParallelSearch), so the search does not age it; call TranspositionTable.newSearch() once before each move.
+ *
+ * At the end of the main search a quiescence search follows only captures, shockwaves and Queen promotions until the position is quiet, so
+ * that a capture is never scored without looking at the recapture.
+ *
+ * The main search is selective, so that it gets deep enough in spite of the many moves a Boo or an Exile can have:
+ * <ul>
+ * <li>NULL_MOVE: the side to move passes. If a shallower search still fails high, the position is good enough to cut off without searching
+ * any move. The side must have a piece other than its Pawns and King, since with only those passing may be the best move (zugzwang), and
+ * deep cutoffs are checked by a search without the pass.</li>
+ * <li>LATE_MOVE_REDUCTIONS: quiet moves that the MoveOrderer put after the captures and killer moves are searched less deep, more so when
+ * they never caused a cutoff. A move that does better than expected is searched again to the full depth.</li>
+ * <li>FUTILITY: one or two plies from the quiescence search, quiet moves are skipped when the static score is so far below alpha that a
+ * quiet move cannot make up for it.</li>
+ * <li>RAZORING: a few plies from the quiescence search, a position whose static score is far below alpha goes straight to the quiescence
+ * search, unless that finds a way back up.</li>
+ * </ul>
+ * None of them are used when the side to move is in check. Each can be turned on or off with setPruning, for example to compare them in
+ * games between computer players.
+ *
+ * Positions are scored by the board's Evaluator. Scores are in hundredths of a Pawn from the point of view of the side to move. A
+ * checkmate is scored as MATE minus the number of plies to reach it.
+ *
+ * @author REN-JAY_2
+ *
+ */
+public class Search {
+
+	public static final int MATE = 30000;
+	public static final int INFINITY = 32000;
+	public static final int MAX_PLY = 128;
+
+	public static final int NULL_MOVE = 1; // the selective search techniques, to be combined for setPruning
+	public static final int LATE_MOVE_REDUCTIONS = 2;
+	public static final int FUTILITY = 4;
+	public static final int RAZORING = 8;
+	public static final int ALL_PRUNING = NULL_MOVE | LATE_MOVE_REDUCTIONS | FUTILITY | RAZORING;
+
+	private static final int DELTA_MARGIN = 200; // how much a quiet position may improve beyond the material won by a capture
+	private static final int QUEEN_PROMOTION_GAIN = 800;
+	private static final int NULL_MOVE_VERIFICATION_DEPTH = 6; // null move cutoffs at this depth or deeper are checked by a normal search
+	private static final int LATE_MOVE_INDEX = 3; // this many legal moves are searched first without a reduction
+	private static final int[] FUTILITY_MARGINS = { 0, 200, 500 }; // by remaining depth
+	private static final int[] RAZOR_MARGINS = { 0, 300, 500, 900 }; // by remaining depth
+
+	private ChessBoard board;
+	private TranspositionTable table;
+	private MoveList[] moveLists; // the moves of each ply, reused between nodes
+	private MoveList rootMoves = new MoveList();
+	private MoveOrderer orderer;
+
+	private long timeLimit; // in milliseconds. 0 means no limit
+	private long nodeLimit; // 0 means no limit
+	private int maxDepth = MAX_PLY - 1;
+	private int startDepth = 1;
+	private int pruning = ALL_PRUNING;
+
+	private long deadline;
+	private long nodes;
+	private volatile boolean stopped;
+	private int bestMove;
+	private int bestScore;
+	private int completedDepth;
+
+	/**
+	 * Constructs a search of a board.
+	 *
+	 * @param board the board to search. It must be a standard 8x8 board, and is changed while the search runs.
+	 * @param table the transposition table to use
+	 */
+	public Search(ChessBoard board, TranspositionTable table) {
+		this.board = board;
+		this.table = table;
+		moveLists = new MoveList[MAX_PLY];
+		for (int i = 0; i < MAX_PLY; i++) {
+			moveLists[i] = new MoveList();
+		}
+		orderer = new MoveOrderer(board, MAX_PLY);
+	}
+
+	/**
+	 * Sets the board to search, so that one Search and its move lists and move ordering tables can be used for move after move. A stop
+	 * left over from the last search is forgotten.
+	 *
+	 * @param newBoard the board to search. It must be a standard 8x8 board, and is changed while the search runs.
+	 */
+	public void setBoard(ChessBoard newBoard) {
+		board = newBoard;
+		orderer.setBoard(newBoard);
+		stopped = false;
+	}
+
+	/**
+	 * Forgets the killer moves and history scores the search has learned. Otherwise they are kept from one search to the next, with the
+	 * history halved.
+	 */
+	public void clearHistory() {
+		orderer.clear();
+	}
+
+	/**
+	 * Sets the longest time the search may take.
+	 *
+	 * @param millis the time limit in milliseconds, or 0 for no limit
+	 */
+	public void setTimeLimit(long millis) {
+		timeLimit = millis;
+	}
+
+	/**
+	 * Sets the largest number of positions the search may visit.
+	 *
+	 * @param limit the node limit, or 0 for no limit
+	 */
+	public void setNodeLimit(long limit) {
+		nodeLimit = limit;
+	}
+
+	/**
+	 * Sets the deepest iteration the search will run.
+	 *
+	 * @param depth the depth limit in plies
+	 */
+	public void setMaxDepth(int depth) {
+		maxDepth = Math.max(1, Math.min(depth, MAX_PLY - 1));
+	}
+
+	/**
+	 * Sets the depth of the first iteration. Helper searches of a ParallelSearch start deeper than the main search, so that the threads
+	 * spread out over different depths.
+	 *
+	 * @param depth the depth of the first iteration in plies
+	 */
+	public void setStartDepth(int depth) {
+		startDepth = Math.max(1, Math.min(depth, MAX_PLY - 1));
+	}
+
+	/**
+	 * Chooses the selective search techniques to use.
+	 *
+	 * @param techniques NULL_MOVE, LATE_MOVE_REDUCTIONS, FUTILITY and RAZORING combined with |, or 0 for a full-width search
+	 */
+	public void setPruning(int techniques) {
+		pruning = techniques;
+	}
+
+	/**
+	 * Returns the selective search techniques in use.
+	 *
+	 * @return the techniques combined with |
+	 */
+	public int getPruning() {
+		return pruning;
+	}
+
+	/**
+	 * Stops the search as soon as possible. This may be called from another thread. If the search has not started yet, the next call to
+	 * findBestMove returns without searching.
+	 */
+	public void stop() {
+		stopped = true;
+	}
+
+	/**
+	 * Searches the board for the side to move and returns the best move found. The search stops after its time, node or depth limit. If
+	 * not even the first iteration finishes, the first legal move is returned.
+	 *
+	 * @return the encoded best move, or Move.NONE if the side to move has no legal move
+	 */
+	public int findBestMove() {
+		nodes = 0;
+		deadline = timeLimit > 0 ? System.currentTimeMillis() + timeLimit : Long.MAX_VALUE;
+		bestMove = Move.NONE;
+		bestScore = 0;
+		completedDepth = 0;
+		orderer.newSearch();
+		rootMoves.clear();
+		board.generateLegalMoves(board.getSideToMove(), rootMoves, false);
+		if (rootMoves.size() == 0) {
+			stopped = false;
+			return Move.NONE;
+		}
+		orderer.scoreMoves(rootMoves, 0, Move.NONE);
+		for (int i = 0; i < rootMoves.size(); i++) {
+			orderer.next(rootMoves, 0, i); // the first iteration searches the root moves in order
+		}
+		bestMove = rootMoves.get(0);
+		for (int depth = Math.min(startDepth, maxDepth); depth <= maxDepth && !stopped; depth++) {
+			searchRoot(rootMoves, depth);
+			if (!stopped) {
+				completedDepth = depth;
+			}
+			if (Math.abs(bestScore) >= MATE - MAX_PLY && !stopped) {
+				break; // a forced mate has been found
+			}
+		}
+		stopped = false;
+		return bestMove;
+	}
+
+	/**
+	 * Returns the best move of the last search.
+	 *
+	 * @return the encoded best move, or Move.NONE
+	 */
+	public int getBestMove() {
+		return bestMove;
+	}
+
+	/**
+	 * Returns the score of the best move of the last search.
+	 *
+	 * @return the score from the point of view of the side to move
+	 */
+	public int getBestScore() {
+		return bestScore;
+	}
+
+	/**
+	 * Returns the depth of the deepest iteration the last search finished.
+	 *
+	 * @return the depth in plies
+	 */
+	public int getCompletedDepth() {
+		return completedDepth;
+	}
+
+	/**
+	 * Returns the number of positions visited by the last search.
+	 *
+	 * @return the number of nodes
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * A helper method that runs one iteration at the root. The best move of the previous iteration is searched first, so that a better
+	 * move found before the search is stopped can be trusted.
+	 *
+	 * @param rootMoves the legal moves of the root position
+	 * @param depth the depth of the iteration
+	 */
+	private void searchRoot(MoveList rootMoves, int depth) {
+		for (int i = 0; i < rootMoves.size(); i++) {
+			if (rootMoves.get(i) == bestMove) {
+				rootMoves.set(i, rootMoves.get(0));
+				rootMoves.set(0, bestMove);
+				break;
+			}
+		}
+		int alpha = -INFINITY;
+		int iterationMove = Move.NONE;
+		for (int i = 0; i < rootMoves.size(); i++) {
+			int move = rootMoves.get(i);
+			board.makeMove(move);
+			nodes++;
+			int score = -negamax(depth - 1, -INFINITY, -alpha, 1, true);
+			board.unmakeMove();
+			if (stopped) {
+				break;
+			}
+			if (score > alpha) {
+				alpha = score;
+				iterationMove = move;
+			}
+		}
+		if (iterationMove != Move.NONE) {
+			bestMove = iterationMove;
+			bestScore = alpha;
+			table.store(board.getHash(), bestMove, toTableScore(alpha, 0), depth, TranspositionTable.EXACT);
+		}
+	}
+
+	/**
+	 * A helper method that searches a position to a given depth.
+	 *
+	 * @param depth the remaining depth in plies
+	 * @param alpha the lowest score the side to move is sure of
+	 * @param beta the highest score the opponent allows
+	 * @param ply the number of moves made since the root
+	 * @param nullAllowed false right after a null move, or while a null move cutoff is being checked
+	 * @return the score of the position from the point of view of the side to move
+	 */
+	private int negamax(int depth, int alpha, int beta, int ply, boolean nullAllowed) {
+		if ((nodes & 1023) == 0) {
+			checkLimits();
+		}
+		if (stopped) {
+			return 0;
+		}
+		long hash = board.getHash();
+		int tableMove = Move.NONE;
+		long entry = table.probe(hash);
+		if (entry != 0) {
+			tableMove = TranspositionTable.getMove(entry);
+			if (TranspositionTable.getDepth(entry) >= depth) {
+				int score = fromTableScore(TranspositionTable.getScore(entry), ply);
+				int bound = TranspositionTable.getBound(entry);
+				if (bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER && score >= beta)
+						|| (bound == TranspositionTable.UPPER && score <= alpha)) {
+					return score;
+				}
+			}
+		}
+		if (depth <= 0 || ply >= MAX_PLY - 1) {
+			return quiesce(alpha, beta, ply);
+		}
+		int side = board.getSideToMove();
+		boolean inCheck = board.isKingAttacked(side);
+		int staticScore = inCheck ? -INFINITY : board.evaluate();
+		boolean nearMate = Math.abs(alpha) >= MATE - MAX_PLY || Math.abs(beta) >= MATE - MAX_PLY;
+
+		if ((pruning & RAZORING) != 0 && !inCheck && !nearMate && depth < RAZOR_MARGINS.length
+				&& staticScore + RAZOR_MARGINS[depth] <= alpha) {
+			if (depth == 1) {
+				return quiesce(alpha, beta, ply);
+			}
+			int razorAlpha = alpha - RAZOR_MARGINS[depth];
+			int score = quiesce(razorAlpha, razorAlpha + 1, ply);
+			if (stopped) {
+				return 0;
+			}
+			if (score <= razorAlpha) {
+				return score;
+			}
+		}
+
+		if ((pruning & NULL_MOVE) != 0 && nullAllowed && !inCheck && !nearMate && depth >= 2 && staticScore >= beta
+				&& hasPieces(side)) {
+			int reduction = depth >= 6 ? 3 : 2;
+			board.makeNullMove();
+			nodes++;
+			int score = -negamax(depth - 1 - reduction, -beta, -beta + 1, ply + 1, false);
+			board.unmakeNullMove();
+			if (stopped) {
+				return 0;
+			}
+			if (score >= beta) {
+				if (depth < NULL_MOVE_VERIFICATION_DEPTH
+						|| negamax(depth - 1 - reduction, beta - 1, beta, ply, false) >= beta) {
+					return beta; // a score from a position after a pass is not trusted beyond the bound
+				}
+			}
+		}
+
+		boolean futile = (pruning & FUTILITY) != 0 && !inCheck && !nearMate && depth < FUTILITY_MARGINS.length
+				&& staticScore + FUTILITY_MARGINS[depth] <= alpha;
+		MoveList moves = moveLists[ply];
+		moves.clear();
+		board.generateMoves(side, moves, false);
+		orderer.scoreMoves(moves, ply, tableMove);
+		int originalAlpha = alpha;
+		int bestScore = -INFINITY;
+		int bestMove = Move.NONE;
+		int legalMoves = 0;
+		for (int i = 0; i < moves.size(); i++) {
+			int move = orderer.next(moves, ply, i);
+			boolean quiet = !Move.isCapture(move) && Move.getPromotionType(move) == ChessPiece.NONE;
+			board.makeMove(move);
+			if (board.isKingAttacked(side)) {
+				board.unmakeMove();
+				continue;
+			}
+			legalMoves++;
+			boolean late = legalMoves - 1 >= LATE_MOVE_INDEX; // illegal moves skipped above do not count
+			boolean givesCheck = (futile || late) && board.isKingAttacked(1 - side);
+			if (futile && quiet && !givesCheck) {
+				board.unmakeMove();
+				bestScore = Math.max(bestScore, staticScore + FUTILITY_MARGINS[depth]);
+				continue;
+			}
+			nodes++;
+			int score;
+			int reduction = 0;
+			if ((pruning & LATE_MOVE_REDUCTIONS) != 0 && depth >= 3 && late && !inCheck && !givesCheck
+					&& orderer.getScore(ply, i) < MoveOrderer.KILLER_SCORE) {
+				reduction = depth >= 6 && orderer.getScore(ply, i) <= 0 ? 2 : 1; // more for moves that never caused a cutoff
+			}
+			if (reduction > 0) {
+				score = -negamax(depth - 1 - reduction, -alpha - 1, -alpha, ply + 1, true);
+				if (score > alpha && !stopped) {
+					score = -negamax(depth - 1, -beta, -alpha, ply + 1, true);
+				}
+			} else {
+				score = -negamax(depth - 1, -beta, -alpha, ply + 1, true);
+			}
+			board.unmakeMove();
+			if (stopped) {
+				return 0;
+			}
+			if (score > bestScore) {
+				bestScore = score;
+				bestMove = move;
+				if (score > alpha) {
+					alpha = score;
+					if (alpha >= beta) {
+						orderer.addCutoff(move, side, ply, depth);
+						break;
+					}
+				}
+			}
+		}
+		if (legalMoves == 0) {
+			return inCheck ? -MATE + ply : 0;
+		}
+		int bound = bestScore >= beta ? TranspositionTable.LOWER
+				: bestScore > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+		table.store(hash, bestMove, toTableScore(bestScore, ply), depth, bound);
+		return bestScore;
+	}
+
+	/**
+	 * A helper method that searches captures until the position is quiet. The side to move may stand pat, that is keep the static score
+	 * instead of capturing. Captures that cannot bring the score up to alpha even with a margin are skipped (delta pruning), as are
+	 * captures that lose material according to the static exchange evaluation. The gain of a shockwave is the value of every enemy piece in
+	 * its cone, and the gain of capturing a Boo includes the pieces it has absorbed.
+	 *
+	 * @param alpha the lowest score the side to move is sure of
+	 * @param beta the highest score the opponent allows
+	 * @param ply the number of moves made since the root
+	 * @return the score of the position from the point of view of the side to move
+	 */
+	private int quiesce(int alpha, int beta, int ply) {
+		if ((nodes & 1023) == 0) {
+			checkLimits();
+		}
+		if (stopped) {
+			return 0;
+		}
+		int standPat = board.evaluate();
+		if (standPat >= beta || ply >= MAX_PLY - 1) {
+			return standPat;
+		}
+		if (standPat > alpha) {
+			alpha = standPat;
+		}
+		int side = board.getSideToMove();
+		MoveList moves = moveLists[ply];
+		moves.clear();
+		board.generateMoves(side, moves, true);
+		orderer.scoreMoves(moves, ply, Move.NONE);
+		for (int i = 0; i < moves.size(); i++) {
+			int move = orderer.next(moves, ply, i);
+			int promotionType = Move.getPromotionType(move);
+			if (promotionType != ChessPiece.NONE && promotionType != ChessPiece.QUEEN) {
+				continue;
+			}
+			int gain = board.getCaptureValue(move) * 100 + (promotionType == ChessPiece.QUEEN ? QUEEN_PROMOTION_GAIN : 0);
+			if (standPat + gain + DELTA_MARGIN <= alpha) {
+				continue;
+			}
+			if (promotionType == ChessPiece.NONE && gain < getValue(Move.getFrom(move)) * 100 && board.staticExchange(move) < 0) {
+				continue; // the capture loses material once the recaptures are played out
+			}
+			board.makeMove(move);
+			if (board.isKingAttacked(side)) {
+				board.unmakeMove();
+				continue;
+			}
+			nodes++;
+			int score = -quiesce(-beta, -alpha, ply + 1);
+			board.unmakeMove();
+			if (stopped) {
+				return 0;
+			}
+			if (score >= beta) {
+				return score;
+			}
+			if (score > alpha) {
+				alpha = score;
+			}
+		}
+		return alpha;
+	}
+
+	/**
+	 * A helper method that checks whether a side has a piece other than its Pawns and King, so that passing is unlikely to be its best
+	 * move.
+	 *
+	 * @param colorIndex the side
+	 * @return true if the side has such a piece
+	 */
+	private boolean hasPieces(int colorIndex) {
+		BitBoard bitBoard = board.getBitBoard();
+		return (bitBoard.getColor(colorIndex) & ~bitBoard.getType(ChessPiece.PAWN) & ~bitBoard.getType(ChessPiece.KING)) != 0;
+	}
+
+	/**
+	 * A helper method that returns the value of the piece on a square.
+	 *
+	 * @param square the square index
+	 * @return the value of the piece
+	 */
+	private int getValue(int square) {
+		return board.getSpace(square).getPiece().getValue();
+	}
+
+	/**
+	 * A helper method that stops the search once it has used up its time or nodes.
+	 */
+	private void checkLimits() {
+		if ((nodeLimit > 0 && nodes >= nodeLimit) || System.currentTimeMillis() >= deadline) {
+			stopped = true;
+		}
+	}
+
+	/**
+	 * A helper method that turns a mate score into the distance to mate from the current position, so that it can be stored in the table
+	 * and read back at another ply.
+	 */
+	private static int toTableScore(int score, int ply) {
+		if (score >= MATE - MAX_PLY) {
+			return score + ply;
+		}
+		if (score <= -MATE + MAX_PLY) {
+			return score - ply;
+		}
+		return score;
+	}
+
+	/**
+	 * A helper method that turns a mate score read from the table back into the distance to mate from the root.
+	 */
+	private static int fromTableScore(int score, int ply) {
+		if (score >= MATE - MAX_PLY) {
+			return score - ply;
+		}
+		if (score <= -MATE + MAX_PLY) {
+			return score + ply;
+		}
+		return score;
+	}
+}
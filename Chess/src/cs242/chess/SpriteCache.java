@@ -0,0 +1,133 @@
+package cs242.chess;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.swing.ImageIcon;
+
+import cs242.chess.pieces.ChessPiece;
+
+/**
+ * A cache of the images pieces are drawn with, shared by every ChessComponent. Each image file in "Chess Pictures" is read once, and each
+ * scaled sprite is drawn once for every type, side and square size, so all the pieces of a kind share one sprite, and resetting the board
+ * or opening another component reads nothing. preload reads all the files at the same time, one thread per processor; otherwise they are
+ * read the first time a sprite is asked for.
+ *
+ * @author REN-JAY_2
+ *
+ */
+public final class SpriteCache {
+
+	private static final String FOLDER = "Chess Pictures/";
+	private static final String[] TYPE_NAMES = { null, "Pawn", "Knight", "Bishop", "Rook", "Queen", "King", "Boo", "Exile" }; // by type
+	private static final String[] SIDE_NAMES = { "White", "Black" }; // by side
+
+	private static Image[][] originals; // indexed by side and type
+	private static final ConcurrentHashMap<Integer, ImageIcon> sprites = new ConcurrentHashMap<Integer, ImageIcon>();
+
+	/**
+	 * The cache only has static methods.
+	 */
+	private SpriteCache() {
+	}
+
+	/**
+	 * Reads every image file, in parallel, unless they have already been read. Calling this at startup keeps the first paint from waiting
+	 * on the files.
+	 */
+	public static synchronized void preload() {
+		if (originals != null) {
+			return;
+		}
+		Image[][] images = new Image[2][ChessPiece.TYPE_COUNT];
+		ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		ArrayList<Future<Image>> loads = new ArrayList<Future<Image>>();
+		for (int side = 0; side < 2; side++) {
+			for (int type = ChessPiece.PAWN; type < ChessPiece.TYPE_COUNT; type++) {
+				final String fileName = FOLDER + SIDE_NAMES[side] + "_" + TYPE_NAMES[type] + ".gif";
+				loads.add(pool.submit(new Callable<Image>() {
+					public Image call() {
+						return ChessComponent.createImage(fileName);
+					}
+				}));
+			}
+		}
+		int index = 0;
+		for (int side = 0; side < 2; side++) {
+			for (int type = ChessPiece.PAWN; type < ChessPiece.TYPE_COUNT; type++) {
+				try {
+					images[side][type] = loads.get(index++).get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (ExecutionException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+		pool.shutdown();
+		originals = images;
+	}
+
+	/**
+	 * Returns the sprite of a type and side of piece at a size. The sprite is made the first time it is asked for and shared afterwards.
+	 *
+	 * @param type the type of the piece, from ChessPiece.PAWN to ChessPiece.EXILE
+	 * @param side the side of the piece, BitBoard.WHITE or BitBoard.BLACK
+	 * @param size the width and height of the sprite in pixels
+	 * @return the sprite, or null if the image file could not be read
+	 */
+	public static ImageIcon getSprite(int type, int side, int size) {
+		int key = (size * 2 + side) * ChessPiece.TYPE_COUNT + type;
+		ImageIcon sprite = sprites.get(key);
+		if (sprite == null) {
+			preload();
+			Image original = originals[side][type];
+			if (original == null) {
+				return null;
+			}
+			sprite = new ImageIcon(scale(original, size));
+			ImageIcon other = sprites.putIfAbsent(key, sprite);
+			if (other != null) {
+				sprite = other; // another thread made it first
+			}
+		}
+		return sprite;
+	}
+
+	/**
+	 * Returns the sprite a piece is drawn with at a size.
+	 *
+	 * @param piece the piece
+	 * @param size the width and height of the sprite in pixels
+	 * @return the sprite, or null if the image file could not be read
+	 */
+	public static ImageIcon getSprite(ChessPiece piece, int size) {
+		return getSprite(piece.getType(), piece.getSide(), size);
+	}
+
+	/**
+	 * A helper method that draws an image at a new size. Unlike Image.getScaledInstance, the scaled image is drawn at once and not again
+	 * on every paint.
+	 *
+	 * @param image the image to scale
+	 * @param size the width and height of the new image
+	 * @return the scaled image
+	 */
+	private static Image scale(Image image, int size) {
+		BufferedImage scaled = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g2 = scaled.createGraphics();
+		g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		g2.drawImage(image, 0, 0, size, size, null);
+		g2.dispose();
+		return scaled;
+	}
+}
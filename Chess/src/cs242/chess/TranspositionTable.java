@@ -0,0 +1,234 @@
+package cs242.chess;
+
+/**
+ * A fixed-size transposition table for the computer's search, keyed by the Zobrist hash of ChessBoard.getHash(). The table is a single
+ * long[] with no entry objects. Each entry is two longs: the key XORed with the data, and the data itself. A reader only accepts an entry
+ * if the two XOR back to the key it is looking for, so an entry half-written by another thread is seen as a miss. This lets several search
+ * threads share one table without locks.
+ *
+ * Entries are grouped in buckets of two. The first slot keeps the deepest search of the positions that hash to the bucket, and is only
+ * replaced by a search at least as deep, or when its entry is left over from an earlier search. The second slot always takes the newest
+ * entry. The table is aged by calling newSearch() before each search instead of clearing it.
+ *
+ * The data of an entry holds the best move (25 bits, see Move), the score (16 bits), the depth (8 bits), the bound (2 bits) and the
+ * generation (8 bits).
+ *
+ * @author REN-JAY_2
+ *
+ */
+public class TranspositionTable {
+
+	public static final int EXACT = 1; // the score is exact
+	public static final int LOWER = 2; // the search failed high, so the score is a lower bound
+	public static final int UPPER = 3; // the search failed low, so the score is an upper bound
+
+	public static final int DEPTH_PREFERRED = 0; // replacement schemes
+	public static final int ALWAYS_REPLACE = 1;
+
+	private static final int ENTRY_LONGS = 2;
+	private static final int BUCKET_LONGS = 2 * ENTRY_LONGS;
+	private static final int MOVE_BITS = 25;
+	private static final int SCORE_SHIFT = MOVE_BITS;
+	private static final int DEPTH_SHIFT = SCORE_SHIFT + 16;
+	private static final int BOUND_SHIFT = DEPTH_SHIFT + 8;
+	private static final int GENERATION_SHIFT = BOUND_SHIFT + 2;
+
+	private final long[] table;
+	private final int bucketMask;
+	private int generation;
+	private int replacement = DEPTH_PREFERRED;
+
+	/**
+	 * Constructs a table that uses about the given number of megabytes. The number of buckets is rounded down to a power of two.
+	 *
+	 * @param megabytes the size of the table in megabytes (at least 1)
+	 */
+	public TranspositionTable(int megabytes) {
+		long bytes = Math.max(1, megabytes) * 1024L * 1024L;
+		long buckets = Long.highestOneBit(bytes / (BUCKET_LONGS * 8));
+		buckets = Math.min(buckets, 1L << 28); // keep the array index within an int
+		table = new long[(int) (buckets * BUCKET_LONGS)];
+		bucketMask = (int) buckets - 1;
+	}
+
+	/**
+	 * Removes every entry from the table.
+	 */
+	public void clear() {
+		for (int i = 0; i < table.length; i++) {
+			table[i] = 0;
+		}
+		generation = 0;
+	}
+
+	/**
+	 * Starts a new generation. Entries stored in earlier generations may be replaced by any new entry.
+	 */
+	public void newSearch() {
+		generation = (generation + 1) & 0xFF;
+	}
+
+	/**
+	 * Returns the current generation.
+	 *
+	 * @return the generation, from 0 to 255
+	 */
+	public int getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Sets the replacement scheme of the table.
+	 *
+	 * @param scheme DEPTH_PREFERRED to keep a depth-preferred and an always-replace slot in each bucket, or ALWAYS_REPLACE to always
+	 *            overwrite the first slot
+	 */
+	public void setReplacement(int scheme) {
+		replacement = scheme;
+	}
+
+	/**
+	 * Returns the replacement scheme of the table.
+	 *
+	 * @return DEPTH_PREFERRED or ALWAYS_REPLACE
+	 */
+	public int getReplacement() {
+		return replacement;
+	}
+
+	/**
+	 * Returns the number of entries the table can hold.
+	 *
+	 * @return the number of entries
+	 */
+	public int getCapacity() {
+		return table.length / ENTRY_LONGS;
+	}
+
+	/**
+	 * Looks up a position.
+	 *
+	 * @param key the hash of the position
+	 * @return the data of the entry, to be read with getMove, getScore, getDepth and getBound, or 0 if the position is not in the table
+	 */
+	public long probe(long key) {
+		int index = bucketIndex(key);
+		for (int slot = 0; slot < BUCKET_LONGS; slot += ENTRY_LONGS) {
+			long data = table[index + slot + 1];
+			if ((table[index + slot] ^ data) == key && data != 0) {
+				return data;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Stores the result of a search of a position. If the position is already in the table and no move is given, the old move is kept.
+	 * A position is only kept in one slot of its bucket, so an older entry of it can never hide the new one.
+	 *
+	 * @param key the hash of the position
+	 * @param move the best move found, or Move.NONE
+	 * @param score the score of the position, between -32768 and 32767
+	 * @param depth the depth of the search, from 0 to 255
+	 * @param bound EXACT, LOWER or UPPER
+	 */
+	public void store(long key, int move, int score, int depth, int bound) {
+		int index = bucketIndex(key);
+		int match = -1; // the slot that already holds the position, if any
+		for (int slot = 0; slot < BUCKET_LONGS && match < 0; slot += ENTRY_LONGS) {
+			long old = table[index + slot + 1];
+			if ((table[index + slot] ^ old) == key && old != 0) {
+				match = slot;
+			}
+		}
+		int slot = 0;
+		if (replacement == DEPTH_PREFERRED && match != 0) {
+			long data = table[index + 1];
+			if (data != 0 && getGeneration(data) == generation && getDepth(data) > depth) {
+				slot = ENTRY_LONGS; // the deeper entry stays, and the new one goes into the always-replace slot
+			}
+		}
+		if (move == Move.NONE && match >= 0) {
+			move = getMove(table[index + match + 1]);
+		}
+		long data = (move & ((1L << MOVE_BITS) - 1)) | ((long) (score & 0xFFFF) << SCORE_SHIFT) | ((long) (depth & 0xFF) << DEPTH_SHIFT)
+				| ((long) bound << BOUND_SHIFT) | ((long) generation << GENERATION_SHIFT);
+		table[index + slot] = key ^ data;
+		table[index + slot + 1] = data;
+		if (match >= 0 && match != slot) { // the position moved to the first slot, so its old entry is removed
+			table[index + match] = 0;
+			table[index + match + 1] = 0;
+		}
+	}
+
+	/**
+	 * Returns the share of the first slots that hold an entry of the current generation, by sampling the first thousand buckets.
+	 *
+	 * @return the share of used entries in permille
+	 */
+	public int getUsage() {
+		int buckets = Math.min(1000, bucketMask + 1);
+		int used = 0;
+		for (int i = 0; i < buckets; i++) {
+			long data = table[i * BUCKET_LONGS + 1];
+			if (data != 0 && getGeneration(data) == generation) {
+				used++;
+			}
+		}
+		return used * 1000 / buckets;
+	}
+
+	/**
+	 * Returns the best move of an entry.
+	 *
+	 * @param data the data returned by probe
+	 * @return the encoded move, or Move.NONE
+	 */
+	public static int getMove(long data) {
+		return (int) (data & ((1L << MOVE_BITS) - 1));
+	}
+
+	/**
+	 * Returns the score of an entry.
+	 *
+	 * @param data the data returned by probe
+	 * @return the score
+	 */
+	public static int getScore(long data) {
+		return (short) (data >>> SCORE_SHIFT);
+	}
+
+	/**
+	 * Returns the depth of an entry.
+	 *
+	 * @param data the data returned by probe
+	 * @return the depth
+	 */
+	public static int getDepth(long data) {
+		return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+	}
+
+	/**
+	 * Returns the bound of an entry.
+	 *
+	 * @param data the data returned by probe
+	 * @return EXACT, LOWER or UPPER
+	 */
+	public static int getBound(long data) {
+		return (int) (data >>> BOUND_SHIFT) & 0x3;
+	}
+
+	/**
+	 * A helper method that returns the generation an entry was stored in.
+	 */
+	private static int getGeneration(long data) {
+		return (int) (data >>> GENERATION_SHIFT) & 0xFF;
+	}
+
+	/**
+	 * A helper method that returns the index of the first long of the bucket of a key.
+	 */
+	private int bucketIndex(long key) {
+		return ((int) (key >>> 32) & bucketMask) * BUCKET_LONGS;
+	}
+}
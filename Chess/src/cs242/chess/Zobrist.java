@@ -0,0 +1,128 @@
+package cs242.chess;
+
+import java.util.Random;
+
+import cs242.chess.pieces.Boo;
+import cs242.chess.pieces.ChessPiece;
+import cs242.chess.pieces.Exile;
+import cs242.chess.pieces.Pawn;
+
+/**
+ * Random keys for Zobrist hashing of a standard 8x8 position. The hash of a position is the XOR of the key of every piece on its square,
+ * and of the side key when black is to move. The key of a piece covers everything that changes its moves: the direction of a Pawn, the
+ * pieces a Boo has absorbed and the charge of an Exile. The keys are made once, with a fixed seed, when the class is loaded.
+ *
+ * @author REN-JAY_2
+ *
+ */
+public final class Zobrist {
+
+	private static final int SQUARES = BitBoard.SIZE * BitBoard.SIZE;
+
+	// the abilities a Boo can absorb. A captured Pawn is kept apart by direction, and a captured Exile by whether it can fire a shockwave
+	private static final int ABILITY_UP_PAWN = 0;
+	private static final int ABILITY_CHARGED_EXILE = ChessPiece.EXILE;
+	private static final int ABILITY_COUNT = ChessPiece.TYPE_COUNT;
+
+	private static final long[][][] PIECE_KEYS = new long[2][ChessPiece.TYPE_COUNT][SQUARES];
+	private static final long[][] UP_PAWN_KEYS = new long[2][SQUARES];
+	private static final long[][][] EXILE_KEYS = new long[2][4][SQUARES]; // indexed by captureCount, where 3 stands for 3 or more
+	private static final long[][] ABILITY_KEYS = new long[ABILITY_COUNT][SQUARES];
+	private static final long BOO_VALUE_KEY;
+	private static final long SIDE_KEY;
+
+	static {
+		Random random = new Random(242);
+		for (int color = 0; color < 2; color++) {
+			for (int square = 0; square < SQUARES; square++) {
+				for (int type = 0; type < ChessPiece.TYPE_COUNT; type++) {
+					PIECE_KEYS[color][type][square] = random.nextLong();
+				}
+				UP_PAWN_KEYS[color][square] = random.nextLong();
+				for (int count = 0; count < 4; count++) {
+					EXILE_KEYS[color][count][square] = random.nextLong();
+				}
+			}
+		}
+		for (int ability = 0; ability < ABILITY_COUNT; ability++) {
+			for (int square = 0; square < SQUARES; square++) {
+				ABILITY_KEYS[ability][square] = random.nextLong();
+			}
+		}
+		BOO_VALUE_KEY = random.nextLong() | 1;
+		SIDE_KEY = random.nextLong();
+	}
+
+	private Zobrist() {
+	}
+
+	/**
+	 * Returns the key of a piece on a square.
+	 *
+	 * @param piece the piece, or null for an empty square
+	 * @param square the square index
+	 * @return the key of the piece, or 0 if there is no piece
+	 */
+	public static long pieceKey(ChessPiece piece, int square) {
+		if (piece == null) {
+			return 0;
+		}
+		int color = piece.getSide();
+		long key = PIECE_KEYS[color][piece.getType()][square];
+		switch (piece.getType()) {
+		case ChessPiece.PAWN:
+			if (((Pawn) piece).getDirection() == 1) {
+				key ^= UP_PAWN_KEYS[color][square];
+			}
+			return key;
+		case ChessPiece.EXILE:
+			return key ^ EXILE_KEYS[color][Math.min(((Exile) piece).getCaptureCount(), 3)][square];
+		case ChessPiece.BOO:
+			int abilities = getAbilities(piece);
+			while (abilities != 0) {
+				key ^= ABILITY_KEYS[Integer.numberOfTrailingZeros(abilities)][square];
+				abilities &= abilities - 1;
+			}
+			// the value of a Boo grows with every capture, so two Boo with the same abilities can still be worth different amounts
+			return key ^ Long.rotateLeft(BOO_VALUE_KEY * piece.getValue(), square);
+		default:
+			return key;
+		}
+	}
+
+	/**
+	 * Returns the key that is XORed into the hash when black is to move.
+	 *
+	 * @return the side key
+	 */
+	public static long sideKey() {
+		return SIDE_KEY;
+	}
+
+	/**
+	 * A helper method that returns the set of abilities a Boo has absorbed as a bit mask, following the pieces absorbed by any captured
+	 * Boo. Capturing a second piece of a type it already has does not give the Boo any new moves.
+	 *
+	 * @param boo the Boo
+	 * @return the mask of abilities
+	 */
+	private static int getAbilities(ChessPiece boo) {
+		int abilities = 0;
+		for (ChessPiece p : ((Boo) boo).getCaptured()) {
+			switch (p.getType()) {
+			case ChessPiece.PAWN:
+				abilities |= 1 << (((Pawn) p).getDirection() == 1 ? ABILITY_UP_PAWN : ChessPiece.PAWN);
+				break;
+			case ChessPiece.EXILE:
+				abilities |= 1 << (((Exile) p).getCaptureCount() >= 3 ? ABILITY_CHARGED_EXILE : ChessPiece.KING);
+				break;
+			case ChessPiece.BOO:
+				abilities |= (1 << ChessPiece.KING) | getAbilities(p);
+				break;
+			default:
+				abilities |= 1 << p.getType();
+			}
+		}
+		return abilities;
+	}
+}
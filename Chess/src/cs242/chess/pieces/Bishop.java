@@ -1,11 +1,8 @@
 package cs242.chess.pieces;
 
 import java.awt.Color;
-import java.awt.Image;
 
-import javax.swing.ImageIcon;
-
-import cs242.chess.ChessComponent;
+import cs242.chess.BitBoard;
 import cs242.chess.ChessSpace;
 
 /**
@@ -17,22 +14,24 @@ import cs242.chess.ChessSpace;
 public class Bishop extends ChessPiece {
 
 	/**
-	 * Creates a Bishop object. It assigns the ImageIcon based on the color of the Bishop. It also assigns the space of the Bishop. Note
-	 * that Bishop gets the value of "3".
+	 * Creates a Bishop object for a side. It also assigns the space of the Bishop. Note that Bishop gets the value of "3".
+	 * 
+	 * @param side the side of the Bishop, BitBoard.WHITE or BitBoard.BLACK
+	 * @param space the space the piece is on
+	 */
+	public Bishop(int side, ChessSpace space) {
+		super(side, space);
+		setValue(3);
+	}
+
+	/**
+	 * Creates a Bishop object based on a color. See Bishop(int, ChessSpace).
 	 * 
 	 * @param color the color of the Bishop
 	 * @param space the space the piece is on
 	 */
 	public Bishop(Color color, ChessSpace space) {
-		super(color, space);
-		Image bishopImage = null;
-		if (color == Color.BLACK) {
-			bishopImage = ChessComponent.createImage("Chess Pictures/Black_Bishop.gif");
-		} else {
-			bishopImage = ChessComponent.createImage("Chess Pictures/White_Bishop.gif");
-		}
-		setImageIcon(new ImageIcon(bishopImage));
-		setValue(3);
+		this(BitBoard.colorIndex(color), space);
 	}
 
 	/**
@@ -54,6 +53,15 @@ public class Bishop extends ChessPiece {
 		return true;
 	}
 
+	/**
+	 * Returns the type identifier of the Bishop.
+	 * 
+	 * @return ChessPiece.BISHOP
+	 */
+	public int getType() {
+		return BISHOP;
+	}
+
 	/**
 	 * Returns a deep copy of the Bishop. Note that we don't set the Bishop's space because there is no point in doing so without relation
 	 * to a Board.
@@ -61,6 +69,6 @@ public class Bishop extends ChessPiece {
 	 * @return A deep copy of the Bishop
 	 */
 	public ChessPiece copy() {
-		return new Bishop(getColor(), null);
+		return new Bishop(getSide(), null);
 	}
 }
\ No newline at end of file
@@ -1,12 +1,9 @@
 package cs242.chess.pieces;
 
 import java.awt.Color;
-import java.awt.Image;
 import java.util.ArrayList;
 
-import javax.swing.ImageIcon;
-
-import cs242.chess.ChessComponent;
+import cs242.chess.BitBoard;
 import cs242.chess.ChessSpace;
 
 /**
@@ -23,22 +20,25 @@ public class Boo extends ChessPiece {
 	/**
 	 * Constructs a Boo object. Initializes the captured ArrayList.
 	 * 
-	 * @param color the color of the Boo
+	 * @param side the side of the Boo, BitBoard.WHITE or BitBoard.BLACK
 	 * @param space the space the Boo begins on
 	 */
-	public Boo(Color color, ChessSpace space) {
-		super(color, space);
-		Image booImage = null;
-		if (color == Color.BLACK) {
-			booImage = ChessComponent.createImage("Chess Pictures/Black_Boo.gif");
-		} else {
-			booImage = ChessComponent.createImage("Chess Pictures/White_Boo.gif");
-		}
-		setImageIcon(new ImageIcon(booImage));
+	public Boo(int side, ChessSpace space) {
+		super(side, space);
 		setValue(5);
 		captured = new ArrayList<ChessPiece>();
 	}
 
+	/**
+	 * Creates a Boo object based on a color. See Boo(int, ChessSpace).
+	 * 
+	 * @param color the color of the Boo
+	 * @param space the space the piece is on
+	 */
+	public Boo(Color color, ChessSpace space) {
+		this(BitBoard.colorIndex(color), space);
+	}
+
 	/**
 	 * Returns the ArrayList of pieces captured by Boo.
 	 * 
@@ -102,6 +102,15 @@ public class Boo extends ChessPiece {
 		super.moveTo(newSpace);
 	}
 
+	/**
+	 * Returns the type identifier of the Boo.
+	 * 
+	 * @return ChessPiece.BOO
+	 */
+	public int getType() {
+		return BOO;
+	}
+
 	/**
 	 * Returns a deep copy of the Boo. Note that we don't set the Boo's space because there is no point in doing so without relation to a
 	 * Board.
@@ -109,12 +118,13 @@ public class Boo extends ChessPiece {
 	 * @return A deep copy of the Boo
 	 */
 	public ChessPiece copy() {
-		Boo copyBoo = new Boo(getColor(), null);
+		Boo copyBoo = new Boo(getSide(), null);
 		ArrayList<ChessPiece> newCaptured = new ArrayList<ChessPiece>();
 		for (ChessPiece p : getCaptured()) {
 			newCaptured.add(p.copy());
 		}
 		copyBoo.setCaptured(newCaptured);
+		copyBoo.setValue(getValue());
 		return copyBoo;
 	}
 }
@@ -2,33 +2,54 @@ package cs242.chess.pieces;
 
 import java.awt.Color;
 
-import javax.swing.ImageIcon;
-
+import cs242.chess.BitBoard;
 import cs242.chess.ChessSpace;
 
 /**
  * A class to implement a Chess piece. It holds the ChessSpace that it is currently on. The user needs to take care to update the
- * ChessPiece's space data whenever the piece moves. It also includes the image used to draw it with the Java API.
+ * ChessPiece's space data whenever the piece moves. A piece belongs to a side, BitBoard.WHITE or BitBoard.BLACK, and holds nothing used to
+ * draw it, so the engine can run without a display; ChessComponent draws the pieces by their type and side.
  * 
  * @author REN-JAY_2
  * 
  */
 public abstract class ChessPiece {
 
-	private Color color;
+	// type identifiers used by the bitboard representation. NONE marks an empty space.
+	public static final int NONE = 0;
+	public static final int PAWN = 1;
+	public static final int KNIGHT = 2;
+	public static final int BISHOP = 3;
+	public static final int ROOK = 4;
+	public static final int QUEEN = 5;
+	public static final int KING = 6;
+	public static final int BOO = 7;
+	public static final int EXILE = 8;
+	public static final int TYPE_COUNT = 9;
+
+	private int side;
 	private ChessSpace space;
-	private ImageIcon image;
 	private int value;
 
 	/**
-	 * Constructs the ChessPiece based on a color and a space.
+	 * Constructs the ChessPiece based on a side and a space.
+	 * 
+	 * @param newSide the side of the piece, BitBoard.WHITE or BitBoard.BLACK
+	 * @param newSpace the space the piece begins on
+	 */
+	public ChessPiece(int newSide, ChessSpace newSpace) {
+		side = newSide;
+		space = newSpace;
+	}
+
+	/**
+	 * Constructs the ChessPiece based on a color and a space. Color.WHITE is the white side, and any other color the black side.
 	 * 
 	 * @param newColor the color of the piece
 	 * @param newSpace the space the piece begins on
 	 */
 	public ChessPiece(Color newColor, ChessSpace newSpace) {
-		color = newColor;
-		space = newSpace;
+		this(BitBoard.colorIndex(newColor), newSpace);
 	}
 
 	/**
@@ -41,21 +62,21 @@ public abstract class ChessPiece {
 	}
 
 	/**
-	 * Returns the color of the ChessPiece.
+	 * Returns the side of the ChessPiece.
 	 * 
-	 * @return the color of the ChessPiece
+	 * @return BitBoard.WHITE or BitBoard.BLACK
 	 */
-	public Color getColor() {
-		return color;
+	public int getSide() {
+		return side;
 	}
 
 	/**
-	 * Returns the Graphics image used to represent the ChessPiece in the GUI.
+	 * Returns the color of the ChessPiece, for the players and the GUI. The engine uses getSide.
 	 * 
-	 * @return the Graphic used to represent the ChessPiece
+	 * @return Color.WHITE or Color.BLACK
 	 */
-	public ImageIcon getImageIcon() {
-		return image;
+	public Color getColor() {
+		return side == BitBoard.WHITE ? Color.WHITE : Color.BLACK;
 	}
 
 	/**
@@ -76,15 +97,6 @@ public abstract class ChessPiece {
 		space = newSpace;
 	}
 
-	/**
-	 * Sets the image used to represent the ChessPiece in the GUI.
-	 * 
-	 * @param newImage the new image used to represent the ChessPiece
-	 */
-	public void setImageIcon(ImageIcon newImage) {
-		image = newImage;
-	}
-
 	/**
 	 * Sets the relative value of the ChessPiece.
 	 * 
@@ -103,6 +115,14 @@ public abstract class ChessPiece {
 	 */
 	public abstract boolean validMove(ChessSpace newSpace);
 
+	/**
+	 * Returns the type identifier of the ChessPiece. This is one of the type constants defined in this class, and is used to index the
+	 * piece in the bitboard representation of the board.
+	 * 
+	 * @return the type identifier of the ChessPiece
+	 */
+	public abstract int getType();
+
 	/**
 	 * Moves the ChessPiece to a new ChessSpace, taking care to account for the data in both the ChessPiece and the ChessSpaces. If there is
 	 * a piece in the new ChessSpace of another color, it is captured and its space data is set to null. The method does not check if the
@@ -122,6 +142,17 @@ public abstract class ChessPiece {
 		setSpace(newSpace);
 	}
 
+	/**
+	 * Moves the ChessPiece to a new ChessSpace like moveTo(ChessSpace), with the piece a Pawn is promoted to if it reaches the last row.
+	 * Pieces other than Pawns ignore the promotion type, so a move chosen in the GUI can be made the same way for every piece.
+	 * 
+	 * @param newSpace the space to move the piece to
+	 * @param promotionType the type a Pawn is promoted to (ChessPiece.QUEEN, ROOK, KNIGHT or BISHOP)
+	 */
+	public void moveTo(ChessSpace newSpace, int promotionType) {
+		moveTo(newSpace);
+	}
+
 	/**
 	 * Moves the ChessPiece to a new ChessSpace, taking care to account for the data in both the ChessPiece and the ChessSpaces. If there is
 	 * a piece in the new ChessSpace of another color, it is captured and its space data is set to null. The method does not check if the
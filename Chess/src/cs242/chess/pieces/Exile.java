@@ -1,12 +1,9 @@
 package cs242.chess.pieces;
 
 import java.awt.Color;
-import java.awt.Image;
-
-import javax.swing.ImageIcon;
 
+import cs242.chess.BitBoard;
 import cs242.chess.ChessBoard;
-import cs242.chess.ChessComponent;
 import cs242.chess.ChessSpace;
 
 /**
@@ -19,30 +16,40 @@ import cs242.chess.ChessSpace;
  */
 public class Exile extends ChessPiece {
 
+	// the row and column offsets of the spaces hit by a shockwave, for each direction it can be fired in
+	private static final int[][] CONE_UP = { { -2, -1 }, { -2, 0 }, { -2, 1 }, { -1, 0 } };
+	private static final int[][] CONE_DOWN = { { 2, -1 }, { 2, 0 }, { 2, 1 }, { 1, 0 } };
+	private static final int[][] CONE_LEFT = { { -1, -2 }, { 0, -2 }, { 1, -2 }, { 0, -1 } };
+	private static final int[][] CONE_RIGHT = { { -1, 2 }, { 0, 2 }, { 1, 2 }, { 0, 1 } };
+
 	private int captureCount;
 	ChessBoard board;
 
 	/**
-	 * Constructs an Exile based off a color and a space. Sets the moveCount to 0.
+	 * Constructs an Exile based off a side and a space. Sets the moveCount to 0.
 	 * 
-	 * @param color The color of the Exile
+	 * @param side The side of the Exile, BitBoard.WHITE or BitBoard.BLACK
 	 * @param space The space the Exile begins on
 	 * @param newBoard the board that the piece is on
 	 */
-	public Exile(Color color, ChessSpace space, ChessBoard newBoard) {
-		super(color, space);
-		Image booImage = null;
-		if (color == Color.BLACK) {
-			booImage = ChessComponent.createImage("Chess Pictures/Black_Exile.gif");
-		} else {
-			booImage = ChessComponent.createImage("Chess Pictures/White_Exile.gif");
-		}
-		setImageIcon(new ImageIcon(booImage));
+	public Exile(int side, ChessSpace space, ChessBoard newBoard) {
+		super(side, space);
 		setValue(7);
 		board = newBoard;
 		captureCount = 0;
 	}
 
+	/**
+	 * Creates an Exile object based on a color. See Exile(int, ChessSpace, ChessBoard).
+	 * 
+	 * @param color the color of the Exile
+	 * @param space the space the piece is on
+	 * @param newBoard the board that the piece is on
+	 */
+	public Exile(Color color, ChessSpace space, ChessBoard newBoard) {
+		this(BitBoard.colorIndex(color), space, newBoard);
+	}
+
 	/**
 	 * Returns the number of moves the Exile has made since its last shockwave.
 	 * 
@@ -114,11 +121,39 @@ public class Exile extends ChessPiece {
 		}
 		// if enemy piece, remove it
 		if (board.getPointValue(targetRow, targetCol).getPiece() != null
-				&& !board.getPointValue(targetRow, targetCol).getPiece().getColor().equals(getColor())) {
+				&& board.getPointValue(targetRow, targetCol).getPiece().getSide() != getSide()) {
 			board.getPointValue(targetRow, targetCol).setPiece(null);
 		}
 	}
 
+	/**
+	 * Returns whether or not a move of the given size is a shockwave, assuming the Exile has captured at least 3 pieces.
+	 * 
+	 * @param rowDifference the absolute difference between the target row and the current row
+	 * @param colDifference the absolute difference between the target column and the current column
+	 * @return true if the move fires a shockwave, false otherwise
+	 */
+	public static boolean isShockwave(int rowDifference, int colDifference) {
+		return (rowDifference == 2 && colDifference <= 1) || (rowDifference <= 1 && colDifference == 2);
+	}
+
+	/**
+	 * Returns the row and column offsets of the spaces hit by a shockwave fired from a space towards a target space. The move is assumed
+	 * to be a shockwave. The returned array is shared and should not be modified.
+	 * 
+	 * @param currentRow the row of the Exile
+	 * @param currentCol the column of the Exile
+	 * @param targetRow the row of the target space
+	 * @param targetCol the column of the target space
+	 * @return the offsets of the four spaces in the cone
+	 */
+	public static int[][] getShockwaveCone(int currentRow, int currentCol, int targetRow, int targetCol) {
+		if (Math.abs(targetRow - currentRow) == 2) {
+			return targetRow < currentRow ? CONE_UP : CONE_DOWN;
+		}
+		return targetCol < currentCol ? CONE_LEFT : CONE_RIGHT;
+	}
+
 	/**
 	 * Overrides the moveTo method from the ChessPiece class If the Exile's move capture count is 3 or above, it can fire a shockwave. This counts as
 	 * a move, but does not move the Exile. Instead, it kills all pieces in a cone. This method checks if the move is valid (that is, for
@@ -133,41 +168,29 @@ public class Exile extends ChessPiece {
 		int currentCol = getSpace().getCol();
 		int rowDifference = Math.abs(targetRow - currentRow);
 		int colDifference = Math.abs(targetCol - currentCol);
-		if (captureCount >= 3 && (rowDifference == 2 && (colDifference <= 1) || (rowDifference <= 1 && colDifference == 2))) {
-			if (rowDifference == 2) {
-				if (targetRow < currentRow) { // above the exile
-					fireShockwave(currentRow - 2, currentCol - 1);
-					fireShockwave(currentRow - 2, currentCol);
-					fireShockwave(currentRow - 2, currentCol + 1);
-					fireShockwave(currentRow - 1, currentCol);
-				} else {
-					fireShockwave(currentRow + 2, currentCol - 1);
-					fireShockwave(currentRow + 2, currentCol);
-					fireShockwave(currentRow + 2, currentCol + 1);
-					fireShockwave(currentRow + 1, currentCol);
-				}
-			} else if (colDifference == 2) {
-				if (targetCol < currentCol) { // left of the exile
-					fireShockwave(currentRow - 1, currentCol - 2);
-					fireShockwave(currentRow, currentCol - 2);
-					fireShockwave(currentRow + 1, currentCol - 2);
-					fireShockwave(currentRow, currentCol - 1);
-				} else { // right of the exile
-					fireShockwave(currentRow - 1, currentCol + 2);
-					fireShockwave(currentRow, currentCol + 2);
-					fireShockwave(currentRow + 1, currentCol + 2);
-					fireShockwave(currentRow, currentCol + 1);
-				}
+		if (captureCount >= 3 && isShockwave(rowDifference, colDifference)) {
+			for (int[] offset : getShockwaveCone(currentRow, currentCol, targetRow, targetCol)) {
+				fireShockwave(currentRow + offset[0], currentCol + offset[1]);
 			}
 			captureCount = 0;
+			getSpace().setPiece(this); // let the board know the Exile has lost its shockwave
 		} else {
-			if (newSpace.getPiece() != null && !newSpace.getPiece().getColor().equals(getColor())) {
+			if (newSpace.getPiece() != null && newSpace.getPiece().getSide() != getSide()) {
 				captureCount++;
 			}
 			super.moveTo(newSpace);
 		}
 	}
 
+	/**
+	 * Returns the type identifier of the Exile.
+	 * 
+	 * @return ChessPiece.EXILE
+	 */
+	public int getType() {
+		return EXILE;
+	}
+
 	/**
 	 * Returns a deep copy of the Exile Note that it does not return a deep copy of the board. This is because the board is only relevant in
 	 * relation to all the other pieces. This method expects the user to set the board of the Exile appropriately. It does not set the space
@@ -176,7 +199,7 @@ public class Exile extends ChessPiece {
 	 * @return A deep copy of the Exile
 	 */
 	public ChessPiece copy() {
-		Exile copyExile = new Exile(getColor(), null, null);
+		Exile copyExile = new Exile(getSide(), null, null);
 		copyExile.setCaptureCount(getCaptureCount());
 		return copyExile;
 	}
@@ -1,11 +1,8 @@
 package cs242.chess.pieces;
 
 import java.awt.Color;
-import java.awt.Image;
 
-import javax.swing.ImageIcon;
-
-import cs242.chess.ChessComponent;
+import cs242.chess.BitBoard;
 import cs242.chess.ChessSpace;
 
 /**
@@ -19,25 +16,28 @@ public class King extends ChessPiece {
 	private boolean inCheck;
 
 	/**
-	 * Creates a King object. It assigns the ImageIcon based on the color of the King. It also assigns the space of the King. Note that King
-	 * gets the value of "99", which is far higher than any piece.
+	 * Creates a King object for a side. It also assigns the space of the King. Note that King gets the value of "99", which is far higher
+	 * than any piece.
 	 * 
-	 * @param color the color of the King
+	 * @param side the side of the King, BitBoard.WHITE or BitBoard.BLACK
 	 * @param space the space the piece is on
 	 */
-	public King(Color color, ChessSpace space) {
-		super(color, space);
-		Image kingImage = null;
-		if (color == Color.BLACK) {
-			kingImage = ChessComponent.createImage("Chess Pictures/Black_King.gif");
-		} else {
-			kingImage = ChessComponent.createImage("Chess Pictures/White_King.gif");
-		}
-		setImageIcon(new ImageIcon(kingImage));
+	public King(int side, ChessSpace space) {
+		super(side, space);
 		setValue(99);
 		inCheck = false;
 	}
 
+	/**
+	 * Creates a King object based on a color. See King(int, ChessSpace).
+	 * 
+	 * @param color the color of the King
+	 * @param space the space the piece is on
+	 */
+	public King(Color color, ChessSpace space) {
+		this(BitBoard.colorIndex(color), space);
+	}
+
 	/**
 	 * Returns whether or not the king is in check
 	 * 
@@ -76,6 +76,15 @@ public class King extends ChessPiece {
 		return true;
 	}
 
+	/**
+	 * Returns the type identifier of the King.
+	 * 
+	 * @return ChessPiece.KING
+	 */
+	public int getType() {
+		return KING;
+	}
+
 	/**
 	 * Returns a deep copy of the King. Note that we don't set the King's space because there is no point in doing so without relation to a
 	 * Board.
@@ -83,6 +92,6 @@ public class King extends ChessPiece {
 	 * @return A deep copy of the King
 	 */
 	public ChessPiece copy() {
-		return new King(getColor(), null);
+		return new King(getSide(), null);
 	}
 }
@@ -1,11 +1,8 @@
 package cs242.chess.pieces;
 
 import java.awt.Color;
-import java.awt.Image;
 
-import javax.swing.ImageIcon;
-
-import cs242.chess.ChessComponent;
+import cs242.chess.BitBoard;
 import cs242.chess.ChessSpace;
 
 /**
@@ -17,22 +14,24 @@ import cs242.chess.ChessSpace;
 public class Knight extends ChessPiece {
 
 	/**
-	 * Creates a Knight object. It assigns the ImageIcon based on the color of the Knight. It also assigns the space of the Knight. Note that
-	 * Knight gets the value of "3".
+	 * Creates a Knight object for a side. It also assigns the space of the Knight. Note that Knight gets the value of "3".
+	 * 
+	 * @param side the side of the Knight, BitBoard.WHITE or BitBoard.BLACK
+	 * @param space the space the piece is on
+	 */
+	public Knight(int side, ChessSpace space) {
+		super(side, space);
+		setValue(3);
+	}
+
+	/**
+	 * Creates a Knight object based on a color. See Knight(int, ChessSpace).
 	 * 
 	 * @param color the color of the Knight
 	 * @param space the space the piece is on
 	 */
 	public Knight(Color color, ChessSpace space) {
-		super(color, space);
-		Image knightImage = null;
-		if (color == Color.BLACK) {
-			knightImage = ChessComponent.createImage("Chess Pictures/Black_Knight.gif");
-		} else {
-			knightImage = ChessComponent.createImage("Chess Pictures/White_Knight.gif");
-		}
-		setImageIcon(new ImageIcon(knightImage));
-		setValue(3);
+		this(BitBoard.colorIndex(color), space);
 	}
 
 	/**
@@ -55,6 +54,15 @@ public class Knight extends ChessPiece {
 		return true;
 	}
 
+	/**
+	 * Returns the type identifier of the Knight.
+	 * 
+	 * @return ChessPiece.KNIGHT
+	 */
+	public int getType() {
+		return KNIGHT;
+	}
+
 	/**
 	 * Returns a deep copy of the Knight. Note that we don't set the Knight's space because there is no point in doing so without relation
 	 * to a Board.
@@ -62,6 +70,6 @@ public class Knight extends ChessPiece {
 	 * @return A deep copy of the Knight
 	 */
 	public ChessPiece copy() {
-		return new Knight(getColor(), null);
+		return new Knight(getSide(), null);
 	}
 }
\ No newline at end of file
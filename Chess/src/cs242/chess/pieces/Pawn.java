@@ -1,13 +1,8 @@
 package cs242.chess.pieces;
 
 import java.awt.Color;
-import java.awt.Image;
-import java.util.ArrayList;
 
-import javax.swing.ImageIcon;
-import javax.swing.JOptionPane;
-
-import cs242.chess.ChessComponent;
+import cs242.chess.BitBoard;
 import cs242.chess.ChessSpace;
 
 /**
@@ -21,26 +16,29 @@ public class Pawn extends ChessPiece {
 	private int direction;
 
 	/**
-	 * Creates a Pawn object. It assigns the ImageIcon based on the color of the Pawn. It also assigns the space of the Pawn Note that Pawn
-	 * gets the value of "1".
+	 * Creates a Pawn object for a side. It also assigns the space of the Pawn. Note that Pawn gets the value of "1".
 	 * 
-	 * @param color the color of the Pawn
+	 * @param side the side of the Pawn, BitBoard.WHITE or BitBoard.BLACK
 	 * @param space the space the piece is on
 	 * @param dir the direction the pawn is moving in. 0 - down (from column 0 -> 8), 1 - up (from column 8->0)
 	 */
-	public Pawn(Color color, ChessSpace space, int dir) {
-		super(color, space);
+	public Pawn(int side, ChessSpace space, int dir) {
+		super(side, space);
 		direction = dir;
-		Image pawnImage = null;
-		if (color == Color.BLACK) {
-			pawnImage = ChessComponent.createImage("Chess Pictures/Black_Pawn.gif");
-		} else {
-			pawnImage = ChessComponent.createImage("Chess Pictures/White_Pawn.gif");
-		}
-		setImageIcon(new ImageIcon(pawnImage));
 		setValue(1);
 	}
 
+	/**
+	 * Creates a Pawn object based on a color. See Pawn(int, ChessSpace, int).
+	 * 
+	 * @param color the color of the Pawn
+	 * @param space the space the piece is on
+	 * @param dir the direction the pawn is moving in. 0 - down (from column 0 -> 8), 1 - up (from column 8->0)
+	 */
+	public Pawn(Color color, ChessSpace space, int dir) {
+		this(BitBoard.colorIndex(color), space, dir);
+	}
+
 	/**
 	 * Returns the direction of the pawn. 0-down, 1-up
 	 * 
@@ -103,41 +101,70 @@ public class Pawn extends ChessPiece {
 	}
 
 	/**
-	 * This method overrides the method inherited from the ChessPiece class. It allows Pawns to be promoted if they reach the opposite end
-	 * of the board. Otherwise, it behaves like the inherited moveTo method.
+	 * Returns whether or not a row is the last row for a Pawn moving in a given direction, where the Pawn is promoted.
+	 * 
+	 * @param row the row index
+	 * @param dir the direction of the Pawn. 0 - down, 1 - up
+	 * @return true if a Pawn reaching the row is promoted, false otherwise
+	 */
+	public static boolean isPromotionRow(int row, int dir) {
+		return (dir == 1 && row == 0) || (dir == 0 && row == 7);
+	}
+
+	/**
+	 * Creates the piece a Pawn is promoted to.
+	 * 
+	 * @param type the type of the new piece. One of ChessPiece.QUEEN, ROOK, KNIGHT or BISHOP. Any other type gives a Queen.
+	 * @param side the side of the new piece, BitBoard.WHITE or BitBoard.BLACK
+	 * @param space the space the new piece is on
+	 * @return the new piece
+	 */
+	public static ChessPiece createPromotion(int type, int side, ChessSpace space) {
+		switch (type) {
+		case ROOK:
+			return new Rook(side, space);
+		case KNIGHT:
+			return new Knight(side, space);
+		case BISHOP:
+			return new Bishop(side, space);
+		default:
+			return new Queen(side, space);
+		}
+	}
+
+	/**
+	 * This method overrides the method inherited from the ChessPiece class. A Pawn that reaches the opposite end of the board is promoted
+	 * to a Queen. Otherwise, it behaves like the inherited moveTo method. Use moveTo(ChessSpace, int) to promote to another piece.
 	 * 
 	 * @param newSpace the space the Pawn is moving to
 	 */
 	public void moveTo(ChessSpace newSpace) {
-		super.moveTo(newSpace);
-		ArrayList<String> possibleStrings = new ArrayList<String>();
-		possibleStrings.add("Queen");
-		possibleStrings.add("Rook");
-		possibleStrings.add("Knight");
-		possibleStrings.add("Bishop");
+		moveTo(newSpace, QUEEN);
+	}
 
-		if (direction == 1) // up
-		{
-			if (newSpace.getRow() == 0) {
-				ChessPiece[] possiblePromotions = { new Queen(Color.WHITE, newSpace), new Rook(Color.WHITE, newSpace),
-						new Knight(Color.WHITE, newSpace), new Bishop(Color.WHITE, newSpace) };
-				String pieceString = (String) JOptionPane.showInputDialog(null, "Promotion!", "Please choose a promotion.",
-						JOptionPane.QUESTION_MESSAGE, null, possibleStrings.toArray(), possiblePromotions[0]);
-				int index = possibleStrings.indexOf(pieceString);
-				newSpace.setPiece(possiblePromotions[index]);
-			}
-		} else if (direction == 0) {
-			if (newSpace.getRow() == 7) {
-				ChessPiece[] possiblePromotions = { new Queen(Color.BLACK, newSpace), new Rook(Color.BLACK, newSpace),
-						new Knight(Color.BLACK, newSpace), new Bishop(Color.BLACK, newSpace) };
-				String pieceString = (String) JOptionPane.showInputDialog(null, "Promotion!", "Please choose a promotion.",
-						JOptionPane.QUESTION_MESSAGE, null, possibleStrings.toArray(), possiblePromotions[0]);
-				int index = possibleStrings.indexOf(pieceString);
-				newSpace.setPiece(possiblePromotions[index]);
-			}
+	/**
+	 * Moves the Pawn like the inherited moveTo method, and promotes it if it reaches the opposite end of the board. The promotion is part of
+	 * the move, so nothing is asked of the user here; the GUI asks for the piece before it makes the move.
+	 * 
+	 * @param newSpace the space the Pawn is moving to
+	 * @param promotionType the type the Pawn is promoted to (ChessPiece.QUEEN, ROOK, KNIGHT or BISHOP)
+	 */
+	public void moveTo(ChessSpace newSpace, int promotionType) {
+		super.moveTo(newSpace);
+		if (isPromotionRow(newSpace.getRow(), direction)) {
+			newSpace.setPiece(createPromotion(promotionType, getSide(), newSpace));
 		}
 	}
 
+	/**
+	 * Returns the type identifier of the Pawn.
+	 * 
+	 * @return ChessPiece.PAWN
+	 */
+	public int getType() {
+		return PAWN;
+	}
+
 	/**
 	 * Returns a deep copy of the Pawn. Note that we don't set the Pawn's space because there is no point in doing so without relation to a
 	 * Board.
@@ -145,6 +172,6 @@ public class Pawn extends ChessPiece {
 	 * @return A deep copy of the Pawn
 	 */
 	public ChessPiece copy() {
-		return new Pawn(getColor(), null, getDirection());
+		return new Pawn(getSide(), null, getDirection());
 	}
 }
@@ -1,11 +1,8 @@
 package cs242.chess.pieces;
 
 import java.awt.Color;
-import java.awt.Image;
 
-import javax.swing.ImageIcon;
-
-import cs242.chess.ChessComponent;
+import cs242.chess.BitBoard;
 import cs242.chess.ChessSpace;
 
 /**
@@ -17,22 +14,24 @@ import cs242.chess.ChessSpace;
 public class Queen extends ChessPiece {
 
 	/**
-	 * Creates a Queen object. It assigns the ImageIcon based on the color of the Queen. It also assigns the space of the Queen Note that
-	 * Queen gets the value of "9".
+	 * Creates a Queen object for a side. It also assigns the space of the Queen. Note that Queen gets the value of "9".
+	 * 
+	 * @param side the side of the Queen, BitBoard.WHITE or BitBoard.BLACK
+	 * @param space the space the piece is on
+	 */
+	public Queen(int side, ChessSpace space) {
+		super(side, space);
+		setValue(9);
+	}
+
+	/**
+	 * Creates a Queen object based on a color. See Queen(int, ChessSpace).
 	 * 
 	 * @param color the color of the Queen
 	 * @param space the space the piece is on
 	 */
 	public Queen(Color color, ChessSpace space) {
-		super(color, space);
-		Image queenImage = null;
-		if (color == Color.BLACK) {
-			queenImage = ChessComponent.createImage("Chess Pictures/Black_Queen.gif");
-		} else {
-			queenImage = ChessComponent.createImage("Chess Pictures/White_Queen.gif");
-		}
-		setImageIcon(new ImageIcon(queenImage));
-		setValue(9);
+		this(BitBoard.colorIndex(color), space);
 	}
 
 	/**
@@ -57,6 +56,15 @@ public class Queen extends ChessPiece {
 		return true;
 	}
 
+	/**
+	 * Returns the type identifier of the Queen.
+	 * 
+	 * @return ChessPiece.QUEEN
+	 */
+	public int getType() {
+		return QUEEN;
+	}
+
 	/**
 	 * Returns a deep copy of the Queen. Note that we don't set the Queen's space because there is no point in doing so without relation to
 	 * a Board.
@@ -64,6 +72,6 @@ public class Queen extends ChessPiece {
 	 * @return A deep copy of the Queen
 	 */
 	public ChessPiece copy() {
-		return new Queen(getColor(), null);
+		return new Queen(getSide(), null);
 	}
 }
\ No newline at end of file
@@ -1,10 +1,7 @@
 package cs242.chess.pieces;
 
 import java.awt.Color;
-import java.awt.Image;
-import javax.swing.ImageIcon;
-
-import cs242.chess.ChessComponent;
+import cs242.chess.BitBoard;
 import cs242.chess.ChessSpace;
 
 /**
@@ -16,22 +13,24 @@ import cs242.chess.ChessSpace;
 public class Rook extends ChessPiece {
 
 	/**
-	 * Creates a Rook object. It assigns the ImageIcon based on the color of the Rook. It also assigns the space of the Rook Note that Rook
-	 * gets the value of "5".
+	 * Creates a Rook object for a side. It also assigns the space of the Rook. Note that Rook gets the value of "5".
+	 * 
+	 * @param side the side of the Rook, BitBoard.WHITE or BitBoard.BLACK
+	 * @param space the space the piece is on
+	 */
+	public Rook(int side, ChessSpace space) {
+		super(side, space);
+		setValue(5);
+	}
+
+	/**
+	 * Creates a Rook object based on a color. See Rook(int, ChessSpace).
 	 * 
 	 * @param color the color of the Rook
 	 * @param space the space the piece is on
 	 */
 	public Rook(Color color, ChessSpace space) {
-		super(color, space);
-		Image rookImage = null;
-		if (color == Color.BLACK) {
-			rookImage = ChessComponent.createImage("Chess Pictures/Black_Rook.gif");
-		} else {
-			rookImage = ChessComponent.createImage("Chess Pictures/White_Rook.gif");
-		}
-		setImageIcon(new ImageIcon(rookImage));
-		setValue(5);
+		this(BitBoard.colorIndex(color), space);
 	}
 
 	/**
@@ -49,6 +48,15 @@ public class Rook extends ChessPiece {
 		return true;
 	}
 
+	/**
+	 * Returns the type identifier of the Rook.
+	 * 
+	 * @return ChessPiece.ROOK
+	 */
+	public int getType() {
+		return ROOK;
+	}
+
 	/**
 	 * Returns a deep copy of the Rook. Note that we don't set the Rook's space because there is no point in doing so without relation to a
 	 * Board.
@@ -56,6 +64,6 @@ public class Rook extends ChessPiece {
 	 * @return A deep copy of the Rook
 	 */
 	public ChessPiece copy() {
-		return new Rook(getColor(), null);
+		return new Rook(getSide(), null);
 	}
 }
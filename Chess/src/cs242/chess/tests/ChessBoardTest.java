@@ -12,6 +12,9 @@ import org.junit.Test;
 import cs242.chess.CaptureSpace;
 import cs242.chess.ChessBoard;
 import cs242.chess.ChessSpace;
+import cs242.chess.Move;
+import cs242.chess.MoveList;
+import cs242.chess.Perft;
 import cs242.chess.pieces.Bishop;
 import cs242.chess.pieces.ChessPiece;
 import cs242.chess.pieces.King;
@@ -371,4 +374,48 @@ public class ChessBoardTest {
 		assertNotNull(board.findCaptureSpace(possibleMoves, board.getPointValue(0, 4)));
 		assertNotNull(board.findCaptureSpace(possibleMoves, board.getPointValue(1, 2)));
 	}
+
+	/**
+	 * Tests that generating only captures still adds a Pawn's promotion without a capture, as a Queen only, next to every promotion of a
+	 * promoting capture.
+	 */
+	@Test
+	public void testGenerateMovesCaptureOnlyPromotions() {
+		board = Perft.createBoard("1r2k3/P7/8/8/8/8/8/4K3 w");
+		ChessPiece pawn = board.getPointValue(1, 0).getPiece();
+		MoveList moves = new MoveList();
+		board.generateMoves(pawn, moves, false);
+		assertEquals(8, moves.size());
+		moves.clear();
+		board.generateMoves(pawn, moves, true);
+		assertEquals(5, moves.size());
+		int quietPromotions = 0;
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			assertTrue(Move.getPromotionType(move) != ChessPiece.NONE);
+			if (!Move.isCapture(move)) {
+				assertEquals(ChessPiece.QUEEN, Move.getPromotionType(move));
+				quietPromotions++;
+			}
+		}
+		assertEquals(1, quietPromotions);
+	}
+
+	/**
+	 * Tests that the static exchange evaluation counts a charged Exile that can hit the target square with a shockwave, and that an Exile
+	 * that is not charged does not defend the square.
+	 */
+	@Test
+	public void testStaticExchangeShockwaveDefender() {
+		board = Perft.createBoard("k3x*3/8/4p3/8/8/8/4Q3/7K w");
+		ChessPiece queen = board.getPointValue(6, 4).getPiece();
+		ChessPiece pawn = board.getPointValue(2, 4).getPiece();
+		int capture = board.encodeMove(queen, board.getPointValue(2, 4), ChessPiece.NONE);
+		assertEquals(pawn.getValue() - queen.getValue(), board.staticExchange(capture));
+
+		board = Perft.createBoard("k3x3/8/4p3/8/8/8/4Q3/7K w");
+		queen = board.getPointValue(6, 4).getPiece();
+		capture = board.encodeMove(queen, board.getPointValue(2, 4), ChessPiece.NONE);
+		assertEquals(pawn.getValue(), board.staticExchange(capture));
+	}
 }
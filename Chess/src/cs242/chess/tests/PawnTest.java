@@ -10,7 +10,10 @@ import org.junit.Test;
 
 import cs242.chess.ChessBoard;
 import cs242.chess.ChessSpace;
+import cs242.chess.pieces.ChessPiece;
+import cs242.chess.pieces.Knight;
 import cs242.chess.pieces.Pawn;
+import cs242.chess.pieces.Queen;
 
 /**
  * A class to test the functionality of the Pawn class.
@@ -105,8 +108,8 @@ public class PawnTest {
 	}
 
 	/**
-	 * Make sure the method updates the ChessSpace and ChessPiece when the piece is moved. Test to see if popup dialogue appears and Pawn
-	 * promotes when Pawn reaches the end of the board.
+	 * Make sure the method updates the ChessSpace and ChessPiece when the piece is moved. Test to see if the Pawn promotes to a Queen,
+	 * without a popup dialogue, when Pawn reaches the end of the board.
 	 */
 	@Test
 	public void testMoveTo() {
@@ -116,6 +119,22 @@ public class PawnTest {
 		assertNull(board.getPointValue(6, 4).getPiece());
 		assertSame("Error: The Pawn's space data was not updated correctly", pawn.getSpace(), board.getPointValue(7, 4));
 		assertNotSame("Error: The ChessSpace's piece data was not updated correctly", pawn, board.getPointValue(7, 4).getPiece());
+		assertTrue(board.getPointValue(7, 4).getPiece() instanceof Queen);
+	}
+
+	/**
+	 * Make sure the Pawn promotes to the piece passed in with the move.
+	 */
+	@Test
+	public void testMoveToPromotion() {
+		pawn = new Pawn(Color.BLACK, board.getPointValue(6, 2), 0);
+		board.getPointValue(6, 2).setPiece(pawn);
+		pawn.moveTo(board.getPointValue(7, 2), ChessPiece.KNIGHT);
+		ChessPiece promoted = board.getPointValue(7, 2).getPiece();
+		assertTrue(promoted instanceof Knight);
+		assertEquals(Color.BLACK, promoted.getColor());
+		assertSame(board.getPointValue(7, 2), promoted.getSpace());
+		assertNull(board.getPointValue(6, 2).getPiece());
 	}
 
 	/**
@@ -0,0 +1,132 @@
+package cs242.chess.tests;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import cs242.chess.BitBoard;
+import cs242.chess.ChessBoard;
+import cs242.chess.MoveList;
+import cs242.chess.Perft;
+import cs242.chess.pieces.Boo;
+import cs242.chess.pieces.ChessPiece;
+import cs242.chess.pieces.Exile;
+
+/**
+ * A class to test the Perft class.
+ *
+ * @author REN-JAY_2
+ *
+ */
+public class PerftTest {
+
+	/**
+	 * Tests the counts of the standard starting position, which has no castling or en passant to depth 4 and so matches standard chess.
+	 */
+	@Test
+	public void testStandardPosition() {
+		Perft perft = new Perft(Perft.createBoard(Perft.STANDARD_POSITION));
+		assertEquals(20, perft.perft(1));
+		assertEquals(400, perft.perft(2));
+		assertEquals(8902, perft.perft(3));
+		assertEquals(197281, perft.perft(4));
+	}
+
+	/**
+	 * Tests that START_POSITION is the position of setChessBoard and addNewPieces, and that its counts are the same with and without bulk
+	 * counting and with more than one thread.
+	 */
+	@Test
+	public void testStartPosition() {
+		ChessBoard board = new ChessBoard();
+		board.setChessBoard();
+		board.addNewPieces();
+		assertEquals(board.getHash(), Perft.createBoard(Perft.START_POSITION).getHash());
+
+		Perft perft = new Perft(board);
+		long count = perft.perft(3);
+		perft.setBulkCounting(false);
+		assertEquals(count, perft.perft(3));
+		perft.setBulkCounting(true);
+		perft.setThreadCount(3);
+		assertEquals(count, perft.perft(3));
+		assertEquals(count, countPseudoLegal(board, 3));
+	}
+
+	/**
+	 * Tests that the counts of a divide add up to the perft, and that the board is left as it was found.
+	 */
+	@Test
+	public void testDivide() {
+		ChessBoard board = Perft.createBoard(Perft.START_POSITION);
+		long hash = board.getHash();
+		Perft perft = new Perft(board);
+		MoveList rootMoves = new MoveList();
+		long[] counts = perft.divide(2, rootMoves);
+		assertEquals(rootMoves.size() + 1, counts.length);
+		long total = 0;
+		for (int i = 0; i < rootMoves.size(); i++) {
+			assertTrue(counts[i + 1] > 0);
+			total += counts[i + 1];
+		}
+		assertEquals(counts[0], total);
+		assertEquals(perft.perft(2), total);
+		assertEquals(hash, board.getHash());
+	}
+
+	/**
+	 * Tests positions with a charged Exile, an absorbing Boo and promotions against a count that tries every pseudo-legal move.
+	 */
+	@Test
+	public void testVariantPositions() {
+		ChessBoard board = Perft.createBoard("4k3/1P4p1/8/3x*4/8/2O[nr]5/6P1/4K3 b");
+		assertEquals(BitBoard.BLACK, board.getSideToMove());
+		assertEquals(3, ((Exile) board.getPointValue(3, 3).getPiece()).getCaptureCount());
+		Boo boo = (Boo) board.getPointValue(5, 2).getPiece();
+		assertEquals(2, boo.getCaptured().size());
+		assertEquals(ChessPiece.ROOK, boo.getCaptured().get(1).getType());
+
+		Perft perft = new Perft(board);
+		assertEquals(countPseudoLegal(board, 3), perft.perft(3));
+		board.setSideToMove(BitBoard.WHITE);
+		assertEquals(countPseudoLegal(board, 3), perft.perft(3));
+	}
+
+	/**
+	 * Tests that positions that are not well formed are rejected.
+	 */
+	@Test
+	public void testBadPositions() {
+		String[] positions = { "8/8/8/8/8/8/8 w", "8/8/8/8/8/8/8/9 w", "8/8/8/8/8/8/8/7z w", "8/8/8/8/8/8/8/8 x", "8/8/8/8/8/8/8/O[n7" };
+		for (String position : positions) {
+			try {
+				Perft.createBoard(position);
+				fail(position);
+			} catch (IllegalArgumentException e) {
+			}
+		}
+	}
+
+	/**
+	 * A helper method that counts positions by trying every pseudo-legal move and taking back the ones that leave the king in check,
+	 * without the pins and checks of generateLegalMoves.
+	 */
+	private long countPseudoLegal(ChessBoard board, int depth) {
+		if (depth == 0) {
+			return 1;
+		}
+		int side = board.getSideToMove();
+		MoveList moves = new MoveList();
+		board.generateMoves(side, moves, false);
+		long total = 0;
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			board.makeMove(move);
+			if (!board.isKingAttacked(side)) {
+				total += countPseudoLegal(board, depth - 1);
+			}
+			board.unmakeMove();
+		}
+		return total;
+	}
+}
@@ -0,0 +1,99 @@
+package cs242.chess.tests;
+
+import static org.junit.Assert.*;
+
+import java.awt.Color;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import cs242.chess.BitBoard;
+import cs242.chess.ChessBoard;
+import cs242.chess.PieceSquareEvaluator;
+import cs242.chess.pieces.Boo;
+import cs242.chess.pieces.King;
+import cs242.chess.pieces.Knight;
+
+/**
+ * A class to test the PieceSquareEvaluator class.
+ *
+ * @author REN-JAY_2
+ *
+ */
+public class PieceSquareEvaluatorTest {
+
+	private ChessBoard board;
+
+	/**
+	 * Sets up a board with the starting position, including Boo and Exile pieces, before every test.
+	 *
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		board = new ChessBoard();
+		board.setChessBoard();
+		board.addNewPieces();
+	}
+
+	/**
+	 * Tests that the starting position is even for both sides.
+	 */
+	@Test
+	public void testStartingPosition() {
+		assertEquals(0, board.getEvaluator().evaluate(BitBoard.WHITE));
+		assertEquals(0, board.getEvaluator().evaluate(BitBoard.BLACK));
+		assertEquals(0, board.evaluate());
+	}
+
+	/**
+	 * Tests that the incremental score matches a score made from scratch after moves are made, and goes back when they are taken back.
+	 */
+	@Test
+	public void testIncremental() {
+		board.makeMove(board.getPointValue(6, 4).getPiece(), board.getPointValue(4, 4));
+		board.makeMove(board.getPointValue(0, 6).getPiece(), board.getPointValue(2, 5));
+		board.makeMove(board.getPointValue(7, 6).getPiece(), board.getPointValue(5, 5));
+		int score = board.evaluate();
+		assertTrue(score != 0);
+		assertEquals(score, evaluateFromScratch(board));
+
+		board.unmakeMove();
+		board.unmakeMove();
+		board.unmakeMove();
+		assertEquals(0, board.evaluate());
+	}
+
+	/**
+	 * Tests that the score follows the value of a Boo that absorbs a piece, and the Boo's old value once the capture is taken back.
+	 */
+	@Test
+	public void testBooValue() {
+		board.clear();
+		board.getPointValue(7, 4).setPiece(new King(Color.WHITE, board.getPointValue(7, 4)));
+		board.getPointValue(0, 4).setPiece(new King(Color.BLACK, board.getPointValue(0, 4)));
+		Boo boo = new Boo(Color.WHITE, board.getPointValue(4, 4));
+		board.getPointValue(4, 4).setPiece(boo);
+		board.getPointValue(3, 4).setPiece(new Knight(Color.BLACK, board.getPointValue(3, 4)));
+		int before = board.getEvaluator().evaluate(BitBoard.WHITE);
+
+		board.makeMove(boo, board.getPointValue(3, 4));
+		assertEquals(8, boo.getValue());
+		int after = board.getEvaluator().evaluate(BitBoard.WHITE);
+		assertEquals(after, -evaluateFromScratch(board)); // black is to move
+		assertTrue(after - before > 500); // the Knight is gone from black and added to the Boo
+
+		board.unmakeMove();
+		assertEquals(before, board.getEvaluator().evaluate(BitBoard.WHITE));
+	}
+
+	/**
+	 * A helper method that scores a board, from the side to move, with a new evaluator given every piece at once.
+	 */
+	private int evaluateFromScratch(ChessBoard board) {
+		ChessBoard copy = (ChessBoard) board.copy();
+		copy.setEvaluator(new PieceSquareEvaluator());
+		copy.setSideToMove(board.getSideToMove());
+		return copy.evaluate();
+	}
+}
@@ -0,0 +1,115 @@
+package cs242.chess.tests;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import cs242.chess.Move;
+import cs242.chess.TranspositionTable;
+import cs242.chess.pieces.ChessPiece;
+
+/**
+ * A class to test the TranspositionTable class.
+ *
+ * @author REN-JAY_2
+ *
+ */
+public class TranspositionTableTest {
+
+	private TranspositionTable table;
+	private long bucketSize; // keys that differ by a multiple of this land in the same bucket
+
+	/**
+	 * Creates a 1 MB table before every test.
+	 *
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		table = new TranspositionTable(1);
+		bucketSize = (long) table.getCapacity() / 2 << 32;
+	}
+
+	/**
+	 * Tests that an entry can be read back with all its fields.
+	 */
+	@Test
+	public void testStoreAndProbe() {
+		int move = Move.create(12, 28, ChessPiece.PAWN, ChessPiece.NONE, ChessPiece.NONE, false);
+		table.store(0x123456789ABCDEFL, move, -250, 7, TranspositionTable.LOWER);
+		long data = table.probe(0x123456789ABCDEFL);
+		assertTrue(data != 0);
+		assertEquals(move, TranspositionTable.getMove(data));
+		assertEquals(-250, TranspositionTable.getScore(data));
+		assertEquals(7, TranspositionTable.getDepth(data));
+		assertEquals(TranspositionTable.LOWER, TranspositionTable.getBound(data));
+		assertEquals(0, table.probe(0x123456789ABCDEEL));
+	}
+
+	/**
+	 * Tests that a deeper entry is kept while shallower entries go into the always-replace slot, and that an entry from an old
+	 * generation can be replaced.
+	 */
+	@Test
+	public void testReplacement() {
+		long deep = 5;
+		table.store(deep, Move.NONE, 10, 9, TranspositionTable.EXACT);
+		table.store(deep + bucketSize, Move.NONE, 20, 2, TranspositionTable.EXACT);
+		table.store(deep + 2 * bucketSize, Move.NONE, 30, 3, TranspositionTable.EXACT);
+		assertEquals(9, TranspositionTable.getDepth(table.probe(deep)));
+		assertEquals(0, table.probe(deep + bucketSize));
+		assertEquals(30, TranspositionTable.getScore(table.probe(deep + 2 * bucketSize)));
+
+		table.newSearch();
+		table.store(deep + bucketSize, Move.NONE, 20, 2, TranspositionTable.EXACT);
+		assertEquals(0, table.probe(deep));
+		assertEquals(2, TranspositionTable.getDepth(table.probe(deep + bucketSize)));
+	}
+
+	/**
+	 * Tests that the always-replace scheme overwrites deeper entries.
+	 */
+	@Test
+	public void testAlwaysReplace() {
+		table.setReplacement(TranspositionTable.ALWAYS_REPLACE);
+		table.store(5, Move.NONE, 10, 9, TranspositionTable.EXACT);
+		table.store(5 + bucketSize, Move.NONE, 20, 2, TranspositionTable.EXACT);
+		assertEquals(0, table.probe(5));
+		assertEquals(20, TranspositionTable.getScore(table.probe(5 + bucketSize)));
+	}
+
+	/**
+	 * Tests that storing a position again without a move keeps the old move.
+	 */
+	@Test
+	public void testKeepMove() {
+		int move = Move.create(1, 18, ChessPiece.KNIGHT, ChessPiece.NONE, ChessPiece.NONE, false);
+		table.store(42, move, 0, 1, TranspositionTable.EXACT);
+		table.store(42, Move.NONE, 5, 2, TranspositionTable.UPPER);
+		long data = table.probe(42);
+		assertEquals(move, TranspositionTable.getMove(data));
+		assertEquals(TranspositionTable.UPPER, TranspositionTable.getBound(data));
+		table.clear();
+		assertEquals(0, table.probe(42));
+	}
+
+	/**
+	 * Tests that a position in the always-replace slot keeps its move when it is stored again without one in the first slot, and that
+	 * the old entry does not stay behind.
+	 */
+	@Test
+	public void testKeepMoveFromSecondSlot() {
+		int move = Move.create(1, 18, ChessPiece.KNIGHT, ChessPiece.NONE, ChessPiece.NONE, false);
+		table.store(5, Move.NONE, 10, 9, TranspositionTable.EXACT);
+		table.store(5 + bucketSize, move, 20, 2, TranspositionTable.EXACT);
+		table.newSearch(); // the deep entry can now be replaced
+		table.store(5 + bucketSize, Move.NONE, 30, 3, TranspositionTable.UPPER);
+		long data = table.probe(5 + bucketSize);
+		assertEquals(move, TranspositionTable.getMove(data));
+		assertEquals(30, TranspositionTable.getScore(data));
+		assertEquals(0, table.probe(5));
+		table.store(5 + 2 * bucketSize, Move.NONE, 40, 1, TranspositionTable.EXACT); // goes into the second slot
+		assertEquals(30, TranspositionTable.getScore(table.probe(5 + bucketSize)));
+	}
+}
@@ -0,0 +1,41 @@
+package sudoku.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the Sudoku benchmarks with the GC profiler, which adds the bytes allocated per operation (gc.alloc.rate.norm) to the operations
+ * per second and latency percentiles of every benchmark. The benchmarks need the JMH core and annotation processor jars on the class path
+ * when they are compiled, and the game in ../src:
+ *
+ * <pre>
+ * javac -cp jmh-core.jar:jmh-generator-annprocess.jar:../src -d build src/sudoku/benchmarks/*.java
+ * java -cp build:jmh-core.jar:jopt-simple.jar:commons-math3.jar:../src sudoku.benchmarks.BenchmarkRunner [regex]
+ * </pre>
+ *
+ * @author Ren-Jay Wang
+ *
+ */
+public final class BenchmarkRunner {
+
+	/**
+	 * Only the main method.
+	 */
+	private BenchmarkRunner() {
+	}
+
+	/**
+	 * Runs the benchmarks.
+	 *
+	 * @param args optionally a regular expression for the benchmarks to run, such as "Uniqueness". All of them are run otherwise.
+	 * @throws RunnerException if JMH fails to run a benchmark
+	 */
+	public static void main(String[] args) throws RunnerException {
+		String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*Benchmark";
+		Options options = new OptionsBuilder().include(include).addProfiler(GCProfiler.class).build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,67 @@
+package sudoku.benchmarks;
+
+/**
+ * The puzzles the uniqueness check is benchmarked on. Each puzzle is 81 digits in row-major order, 0 for a hidden space, followed by its
+ * solution. Every puzzle has exactly one solution. The solution is needed because SudokuBoard keeps the answer of a hidden space in the
+ * space, as setSudoku and hideSpaces leave it.
+ *
+ * @author Ren-Jay Wang
+ *
+ */
+public final class Corpus {
+
+	public static final String EASY = "easy";
+	public static final String HARD = "hard";
+
+	/**
+	 * Newspaper puzzles with 28 to 32 clues that can be solved without guessing.
+	 */
+	private static final String[][] EASY_PUZZLES = {
+			{ "003020600900305001001806400008102900700000008006708200002609500800203009005010300",
+					"483921657967345821251876493548132976729564138136798245372689514814253769695417382" },
+			{ "530070000600195000098000060800060003400803001700020006060000280000419005000080079",
+					"534678912672195348198342567859761423426853791713924856961537284287419635345286179" },
+			{ "200080300060070084030500209000105408000000000402706000301007040720040060004010003",
+					"245981376169273584837564219976125438513498627482736951391657842728349165654812793" },
+			{ "000000907000420180000705026100904000050000040000507009920108000034059000507000000",
+					"462831957795426183381795426173984265659312748248567319926178534834259671517643892" } };
+
+	/**
+	 * Puzzles with 17 to 26 clues that need deep guessing, including two with the fewest clues a puzzle with one solution can have.
+	 */
+	private static final String[][] HARD_PUZZLES = {
+			{ "800000000003600000070090200050007000000045700000100030001000068008500010090000400",
+					"812753649943682175675491283154237896369845721287169534521974368438526917796318452" },
+			{ "400000805030000000000700000020000060000080400000010000000603070500200000104000000",
+					"417369825632158947958724316825437169791586432346912758289643571573291684164875293" },
+			{ "000000010400000000020000000000050407008000300001090000300400200050100000000806000",
+					"693784512487512936125963874932651487568247391741398625319475268856129743274836159" },
+			{ "100007090030020008009600500005300900010080002600004000300000010040000007007000300",
+					"162857493534129678789643521475312986913586742628794135356478219241935867897261354" },
+			{ "120040000005069010009000500000000070700052090030000002090600050400900801003000904",
+					"128547639345869217679213548912486375784352196536791482891624753467935821253178964" },
+			{ "850002400720000009004000000000107002305000900040000000000080070017000000000036040",
+					"859612437723854169164379528986147352375268914241593786432981675617425893598736241" } };
+
+	/**
+	 * Only static methods.
+	 */
+	private Corpus() {
+	}
+
+	/**
+	 * Returns the puzzles of a corpus.
+	 *
+	 * @param name EASY or HARD
+	 * @return pairs of a puzzle and its solution
+	 * @throws IllegalArgumentException if there is no corpus with the name
+	 */
+	public static String[][] getPuzzles(String name) {
+		if (name.equals(EASY)) {
+			return EASY_PUZZLES;
+		} else if (name.equals(HARD)) {
+			return HARD_PUZZLES;
+		}
+		throw new IllegalArgumentException("No corpus named " + name);
+	}
+}
@@ -0,0 +1,85 @@
+package sudoku.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of making a puzzle the way the game does: filling a full grid with setSudoku, hiding spaces with hideSpaces() and checking
+ * the player's answer with checkPlayerResult. Both making steps use Math.random, so their scores are averages over many different grids.
+ * Every benchmark is measured in operations per second and as a sample of single calls, which gives the latency percentiles.
+ *
+ * @author Ren-Jay Wang
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationBenchmark {
+
+	private Object board; // for setSudoku
+	private Object grid; // a full grid, for hideSpaces
+	private Object puzzle; // a puzzle the player has solved, for checkPlayerResult
+
+	/**
+	 * Makes the boards the benchmarks start from.
+	 */
+	@Setup
+	public void setUp() {
+		board = Sudoku.newBoard();
+		grid = Sudoku.newBoard();
+		Sudoku.setSudoku(grid);
+		puzzle = Sudoku.newBoard();
+		Sudoku.setSudoku(puzzle);
+		Sudoku.hideSpaces(puzzle);
+		Sudoku.guessAnswers(puzzle);
+	}
+
+	/**
+	 * Fills an empty board with a full grid. setSudoku keeps the numbers already on the board, so the board is cleared first.
+	 *
+	 * @return the board, so that the work is not thrown away
+	 */
+	@Benchmark
+	public Object setSudoku() {
+		Sudoku.clear(board);
+		Sudoku.setSudoku(board);
+		return board;
+	}
+
+	/**
+	 * Hides the spaces of a full grid while the puzzle keeps one solution, which checks the solutions of the puzzle once for every space.
+	 * Every space is revealed again first.
+	 *
+	 * @return the board, so that the work is not thrown away
+	 */
+	@Benchmark
+	public Object hideSpaces() {
+		Sudoku.revealSpaces(grid);
+		Sudoku.hideSpaces(grid);
+		return grid;
+	}
+
+	/**
+	 * Checks a solved puzzle. checkPlayerResult writes the guesses into the hidden spaces, and the guesses are the answers, so the board
+	 * stays the same.
+	 *
+	 * @return whether the answer is right
+	 */
+	@Benchmark
+	public boolean checkPlayerResult() {
+		return Sudoku.checkPlayerResult(puzzle);
+	}
+}
@@ -0,0 +1,229 @@
+package sudoku.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Calls the methods of SudokuBoard and SudokuSpace. Those classes are in the default package, which a class in a package cannot import,
+ * and JMH does not allow benchmarks in the default package, so the methods are looked up once by name. The handles are static final
+ * constants, so the JIT compiler calls the methods directly and the lookup costs nothing in the measurements.
+ *
+ * @author Ren-Jay Wang
+ *
+ */
+final class Sudoku {
+
+	private static final MethodHandle NEW_BOARD;
+	private static final MethodHandle CLEAR;
+	private static final MethodHandle SET_SUDOKU;
+	private static final MethodHandle REVEAL_SPACES;
+	private static final MethodHandle HIDE_SPACES;
+	private static final MethodHandle HAS_UNIQUE_SOLUTION;
+	private static final MethodHandle CHECK_PLAYER_RESULT;
+	private static final MethodHandle SET_SOLVER;
+	private static final MethodHandle SET_NUM;
+	private static final MethodHandle SET_REVEALED;
+	private static final MethodHandle GET_POINT_VALUE;
+	private static final MethodHandle GET_NUM;
+	private static final MethodHandle GET_REVEALED;
+	private static final MethodHandle SET_GUESS;
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			Class<?> board = Class.forName("SudokuBoard");
+			Class<?> space = Class.forName("SudokuSpace");
+			MethodType action = MethodType.methodType(void.class, Object.class);
+			MethodType test = MethodType.methodType(boolean.class, Object.class);
+			NEW_BOARD = lookup.findConstructor(board, MethodType.methodType(void.class)).asType(MethodType.methodType(Object.class));
+			CLEAR = lookup.findVirtual(board, "clear", MethodType.methodType(void.class)).asType(action);
+			SET_SUDOKU = lookup.findVirtual(board, "setSudoku", MethodType.methodType(void.class)).asType(action);
+			REVEAL_SPACES = lookup.findVirtual(board, "revealSpaces", MethodType.methodType(void.class)).asType(action);
+			HIDE_SPACES = lookup.findVirtual(board, "hideSpaces", MethodType.methodType(void.class)).asType(action);
+			HAS_UNIQUE_SOLUTION = lookup.findVirtual(board, "hasUniqueSolution", MethodType.methodType(boolean.class)).asType(test);
+			CHECK_PLAYER_RESULT = lookup.findVirtual(board, "checkPlayerResult", MethodType.methodType(boolean.class)).asType(test);
+			SET_SOLVER = lookup.findVirtual(board, "setSolver", MethodType.methodType(void.class, int.class))
+					.asType(MethodType.methodType(void.class, Object.class, int.class));
+			SET_NUM = lookup.findVirtual(board, "setNum", MethodType.methodType(void.class, int.class, int.class, int.class))
+					.asType(MethodType.methodType(void.class, Object.class, int.class, int.class, int.class));
+			SET_REVEALED = lookup.findVirtual(board, "setRevealed", MethodType.methodType(void.class, int.class, int.class, boolean.class))
+					.asType(MethodType.methodType(void.class, Object.class, int.class, int.class, boolean.class));
+			GET_POINT_VALUE = lookup.findVirtual(board, "getPointValue", MethodType.methodType(space, int.class, int.class))
+					.asType(MethodType.methodType(Object.class, Object.class, int.class, int.class));
+			GET_NUM = lookup.findVirtual(space, "getNum", MethodType.methodType(int.class))
+					.asType(MethodType.methodType(int.class, Object.class));
+			GET_REVEALED = lookup.findVirtual(space, "getRevealed", MethodType.methodType(boolean.class)).asType(test);
+			SET_GUESS = lookup.findVirtual(space, "setGuess", MethodType.methodType(void.class, int.class))
+					.asType(MethodType.methodType(void.class, Object.class, int.class));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/**
+	 * Only static methods.
+	 */
+	private Sudoku() {
+	}
+
+	/**
+	 * Creates a new SudokuBoard with every space empty.
+	 *
+	 * @return the board
+	 */
+	static Object newBoard() {
+		try {
+			return (Object) NEW_BOARD.invokeExact();
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * Calls SudokuBoard.clear.
+	 *
+	 * @param board the SudokuBoard
+	 */
+	static void clear(Object board) {
+		try {
+			CLEAR.invokeExact(board);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * Calls SudokuBoard.setSudoku, which fills the board with a random full grid.
+	 *
+	 * @param board the SudokuBoard
+	 */
+	static void setSudoku(Object board) {
+		try {
+			SET_SUDOKU.invokeExact(board);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * Calls SudokuBoard.revealSpaces.
+	 *
+	 * @param board the SudokuBoard
+	 */
+	static void revealSpaces(Object board) {
+		try {
+			REVEAL_SPACES.invokeExact(board);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * Calls SudokuBoard.hideSpaces(), which hides spaces while the puzzle keeps one solution.
+	 *
+	 * @param board the SudokuBoard
+	 */
+	static void hideSpaces(Object board) {
+		try {
+			HIDE_SPACES.invokeExact(board);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * Calls SudokuBoard.hasUniqueSolution().
+	 *
+	 * @param board the SudokuBoard
+	 * @return the result of hasUniqueSolution
+	 */
+	static boolean hasUniqueSolution(Object board) {
+		try {
+			return (boolean) HAS_UNIQUE_SOLUTION.invokeExact(board);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * Calls SudokuBoard.checkPlayerResult.
+	 *
+	 * @param board the SudokuBoard
+	 * @return the result of checkPlayerResult
+	 */
+	static boolean checkPlayerResult(Object board) {
+		try {
+			return (boolean) CHECK_PLAYER_RESULT.invokeExact(board);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * Calls SudokuBoard.setSolver with one of the SudokuBoard constants.
+	 *
+	 * @param board the SudokuBoard
+	 * @param name the name of the constant, MASK_SEARCH or DANCING_LINKS
+	 */
+	static void setSolver(Object board, String name) {
+		try {
+			SET_SOLVER.invokeExact(board, board.getClass().getField(name).getInt(null));
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * Puts a puzzle on a board through SudokuBoard.setNum and setRevealed, so the board keeps track of the revealed numbers. The clues are
+	 * revealed, and the other spaces are hidden with their answer in them.
+	 *
+	 * @param board the SudokuBoard
+	 * @param puzzle the puzzle, 81 digits in row-major order with 0 for a hidden space
+	 * @param solution the solution of the puzzle, 81 digits
+	 */
+	static void load(Object board, String puzzle, String solution) {
+		try {
+			for (int i = 0; i < 81; i++) {
+				SET_NUM.invokeExact(board, i / 9, i % 9, solution.charAt(i) - '0');
+				SET_REVEALED.invokeExact(board, i / 9, i % 9, puzzle.charAt(i) != '0');
+			}
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * Fills in every hidden space of a board with its answer as the player's guess, as a player who solved the puzzle would.
+	 *
+	 * @param board the SudokuBoard
+	 */
+	static void guessAnswers(Object board) {
+		try {
+			for (int i = 0; i < 81; i++) {
+				Object space = (Object) GET_POINT_VALUE.invokeExact(board, i / 9, i % 9);
+				if (!(boolean) GET_REVEALED.invokeExact(space)) {
+					SET_GUESS.invokeExact(space, (int) GET_NUM.invokeExact(space));
+				}
+			}
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * A helper method that passes on an exception thrown by a Sudoku method.
+	 *
+	 * @param e the exception
+	 * @return never returns; declared so callers can write "throw rethrow(e)"
+	 */
+	private static RuntimeException rethrow(Throwable e) {
+		if (e instanceof RuntimeException) {
+			throw (RuntimeException) e;
+		}
+		if (e instanceof Error) {
+			throw (Error) e;
+		}
+		throw new RuntimeException(e);
+	}
+}
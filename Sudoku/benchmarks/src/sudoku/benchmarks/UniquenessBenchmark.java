@@ -0,0 +1,67 @@
+package sudoku.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A benchmark of SudokuBoard.hasUniqueSolution on the puzzles of a corpus (see Corpus), with each of the board's solvers. Each call
+ * checks the next puzzle of the corpus, so the throughput is the average over the corpus and the latency percentiles show how far the
+ * puzzles differ.
+ *
+ * @author Ren-Jay Wang
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UniquenessBenchmark {
+
+	@Param({ Corpus.EASY, Corpus.HARD })
+	public String corpus;
+
+	@Param({ "MASK_SEARCH", "DANCING_LINKS" })
+	public String solver;
+
+	private Object[] boards;
+	private int next;
+
+	/**
+	 * Puts every puzzle of the corpus on its own board.
+	 */
+	@Setup
+	public void setUp() {
+		String[][] puzzles = Corpus.getPuzzles(corpus);
+		boards = new Object[puzzles.length];
+		for (int i = 0; i < puzzles.length; i++) {
+			boards[i] = Sudoku.newBoard();
+			Sudoku.setSolver(boards[i], solver);
+			Sudoku.load(boards[i], puzzles[i][0], puzzles[i][1]);
+		}
+	}
+
+	/**
+	 * Checks whether the next puzzle has one solution. hasUniqueSolution takes back every number it tries, so the board is not changed.
+	 *
+	 * @return the result of the check
+	 */
+	@Benchmark
+	public boolean hasUniqueSolution() {
+		Object board = boards[next];
+		next = (next + 1) % boards.length;
+		return Sudoku.hasUniqueSolution(board);
+	}
+}
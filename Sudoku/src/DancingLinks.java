@@ -0,0 +1,208 @@
+/**
+ * Counts the solutions of a Sudoku puzzle with Knuth's Algorithm X on dancing links.
+ * A Sudoku is an exact cover problem: each of the 729 ways of putting a number in a space fills 4 of 324 constraints
+ * (the space has a number, and the row, column and 3x3 square each have that number), and a solution fills every constraint once.
+ * The matrix of constraints is built once, as circular lists of nodes stored in int arrays.
+ * Covering a constraint unlinks it and the rows that fill it, and uncovering links them back in reverse order,
+ * so after a count the matrix is exactly as it was built and the next puzzle can use it without copying anything.
+ *
+ * @author Ren-Jay Wang
+ *
+ */
+public class DancingLinks {
+
+	private static final int COLUMNS = 324; // 81 spaces, and 81 row, 81 column and 81 square numbers
+	private static final int ROWS = 729; // 81 spaces times 9 numbers
+	private static final int ROOT = 0;
+
+	// node 0 is the root, nodes 1 to 324 are the column headers and the rest are the 4 nodes of each row
+	private int[] left;
+	private int[] right;
+	private int[] up;
+	private int[] down;
+	private int[] column;
+	private int[] size; // the number of rows still in each column, indexed by header node
+	private boolean[] covered; // indexed by header node
+	private int[] rowStart = new int[ROWS]; // the first node of each row
+	private int[] clueRows = new int[81]; // the rows chosen by the revealed spaces of the puzzle being counted
+
+	public DancingLinks()
+	{
+		int nodes = 1 + COLUMNS + 4 * ROWS;
+		left = new int[nodes];
+		right = new int[nodes];
+		up = new int[nodes];
+		down = new int[nodes];
+		column = new int[nodes];
+		size = new int[COLUMNS + 1];
+		covered = new boolean[COLUMNS + 1];
+		for (int i = 0; i <= COLUMNS; i++) // the headers, in a circle with the root
+		{
+			left[i] = i == 0 ? COLUMNS : i - 1;
+			right[i] = i == COLUMNS ? 0 : i + 1;
+			up[i] = i;
+			down[i] = i;
+			column[i] = i;
+		}
+		int node = COLUMNS + 1;
+		for (int row = 0; row < ROWS; row++)
+		{
+			int space = row / 9;
+			int num = row % 9;
+			int r = space / 9;
+			int c = space % 9;
+			int[] columns = {space, 81 + r * 9 + num, 162 + c * 9 + num, 243 + ((r / 3) * 3 + c / 3) * 9 + num};
+			rowStart[row] = node;
+			for (int i = 0; i < 4; i++)
+			{
+				int header = columns[i] + 1;
+				column[node + i] = header;
+				up[node + i] = up[header]; // add the node to the bottom of its column
+				down[node + i] = header;
+				down[up[header]] = node + i;
+				up[header] = node + i;
+				size[header]++;
+				left[node + i] = node + (i + 3) % 4;
+				right[node + i] = node + (i + 1) % 4;
+			}
+			node += 4;
+		}
+	}
+
+	/**
+	 * Counts the solutions of the puzzle formed by the revealed spaces of an array, stopping once a limit is reached.
+	 * The array is not changed.
+	 *
+	 * @param spaces a 9x9 array of spaces. The revealed spaces are the clues.
+	 * @param limit the number of solutions after which the count stops. 2 is enough to tell if a puzzle has one solution.
+	 * @return the number of solutions, at most the limit. 0 if two clues have the same number in a row, column or square.
+	 */
+	public int countSolutions(SudokuSpace[][] spaces, int limit)
+	{
+		int clueCount = 0;
+		boolean possible = true;
+		for (int i = 0; i < 9 && possible; i++)
+		{
+			for (int j = 0; j < 9 && possible; j++)
+			{
+				int num = spaces[i][j].getNum();
+				if (spaces[i][j].getRevealed() && num >= 1 && num <= 9)
+				{
+					int row = (i * 9 + j) * 9 + num - 1;
+					possible = chooseRow(row);
+					if (possible)
+					{
+						clueRows[clueCount] = row;
+						clueCount++;
+					}
+				}
+			}
+		}
+		int numSol = possible ? search(limit) : 0;
+		for (int i = clueCount - 1; i >= 0; i--) // take back the clues, last one first
+		{
+			unchooseRow(clueRows[i]);
+		}
+		return numSol;
+	}
+
+	// A helper function for countSolutions that fills the uncovered columns, the column with the fewest rows first
+	private int search(int limit)
+	{
+		if (right[ROOT] == ROOT) // every constraint is filled
+		{
+			return 1;
+		}
+		int best = right[ROOT];
+		for (int c = right[best]; c != ROOT && size[best] > 1; c = right[c])
+		{
+			if (size[c] < size[best])
+			{
+				best = c;
+			}
+		}
+		if (size[best] == 0) // nothing can fill the constraint
+		{
+			return 0;
+		}
+		int numSol = 0;
+		cover(best);
+		for (int r = down[best]; r != best && numSol < limit; r = down[r])
+		{
+			for (int j = right[r]; j != r; j = right[j])
+			{
+				cover(column[j]);
+			}
+			numSol += search(limit - numSol);
+			for (int j = left[r]; j != r; j = left[j])
+			{
+				uncover(column[j]);
+			}
+		}
+		uncover(best);
+		return numSol;
+	}
+
+	// A helper function that covers the columns of a clue's row
+	// Returns false, with nothing covered, if one of the columns is already filled by another clue
+	private boolean chooseRow(int row)
+	{
+		int start = rowStart[row];
+		for (int i = 0; i < 4; i++)
+		{
+			if (covered[column[start + i]])
+			{
+				return false;
+			}
+		}
+		for (int i = 0; i < 4; i++)
+		{
+			cover(column[start + i]);
+		}
+		return true;
+	}
+
+	// A helper function that takes back chooseRow
+	private void unchooseRow(int row)
+	{
+		int start = rowStart[row];
+		for (int i = 3; i >= 0; i--)
+		{
+			uncover(column[start + i]);
+		}
+	}
+
+	// Removes a column from the header list, and every row that fills it from the other columns
+	private void cover(int c)
+	{
+		covered[c] = true;
+		right[left[c]] = right[c];
+		left[right[c]] = left[c];
+		for (int i = down[c]; i != c; i = down[i])
+		{
+			for (int j = right[i]; j != i; j = right[j])
+			{
+				down[up[j]] = down[j];
+				up[down[j]] = up[j];
+				size[column[j]]--;
+			}
+		}
+	}
+
+	// Puts back a column removed by cover, in exactly the reverse order
+	private void uncover(int c)
+	{
+		for (int i = up[c]; i != c; i = up[i])
+		{
+			for (int j = left[i]; j != i; j = left[j])
+			{
+				size[column[j]]++;
+				down[up[j]] = j;
+				up[down[j]] = j;
+			}
+		}
+		right[left[c]] = c;
+		left[right[c]] = c;
+		covered[c] = false;
+	}
+}
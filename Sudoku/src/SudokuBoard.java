@@ -1,7 +1,23 @@
 
 public class SudokuBoard implements Board<SudokuSpace>{
 
+	// the ways hasUniqueSolution can count solutions
+	public static final int MASK_SEARCH = 0;
+	public static final int DANCING_LINKS = 1;
+
 	private SudokuSpace[][] dimensions;
+	// the numbers of the revealed spaces of every row, column and 3x3 square: bit (num - 1) is set if num is revealed there
+	private int[] rowMasks = new int[9];
+	private int[] colMasks = new int[9];
+	private int[] squareMasks = new int[9];
+	// how many times each number is revealed in every row, column and 3x3 square, at index unit * 9 + (num - 1)
+	private int[] rowCounts = new int[81];
+	private int[] colCounts = new int[81];
+	private int[] squareCounts = new int[81];
+	private int repeats; // how many revealed numbers are a second (or later) copy in their row, column or square
+	private int[] hiddenSpaces = new int[81]; // the hidden spaces (row * 9 + col) during a solution count
+	private int solver = DANCING_LINKS;
+	private DancingLinks dancingLinks; // made the first time it is used
 
 	public SudokuBoard()
 	{
@@ -16,7 +32,16 @@ public class SudokuBoard implements Board<SudokuSpace>{
 
 	public void setPointValue(int row, int col, SudokuSpace value)
 	{
+		SudokuSpace oldSpace = dimensions[row][col];
+		if (oldSpace != null && oldSpace.getRevealed())
+		{
+			removeRevealed(row, col, oldSpace.getNum());
+		}
 		dimensions[row][col] = value;
+		if (value != null && value.getRevealed())
+		{
+			addRevealed(row, col, value.getNum());
+		}
 	}
 
 	public int getLength()
@@ -32,6 +57,152 @@ public class SudokuBoard implements Board<SudokuSpace>{
 	public void setDimensions(SudokuSpace[][] newDimensions) 
 	{
 		dimensions = newDimensions;
+		updateMasks();
+	}
+	
+	/**
+	 * Sets the number of a space. Use this instead of SudokuSpace.setNum so the board can keep track of the revealed numbers.
+	 * @param row the row of the space
+	 * @param col the column of the space
+	 * @param num the new number
+	 */
+	public void setNum(int row, int col, int num)
+	{
+		SudokuSpace space = dimensions[row][col];
+		if (space.getRevealed())
+		{
+			removeRevealed(row, col, space.getNum());
+			addRevealed(row, col, num);
+		}
+		space.setNum(num);
+	}
+	
+	/**
+	 * Reveals or hides a space. Use this instead of SudokuSpace.setRevealed so the board can keep track of the revealed numbers.
+	 * @param row the row of the space
+	 * @param col the column of the space
+	 * @param revealed true to reveal the space, false to hide it
+	 */
+	public void setRevealed(int row, int col, boolean revealed)
+	{
+		SudokuSpace space = dimensions[row][col];
+		if (space.getRevealed() != revealed)
+		{
+			if (revealed)
+			{
+				addRevealed(row, col, space.getNum());
+			}
+			else
+			{
+				removeRevealed(row, col, space.getNum());
+			}
+			space.setRevealed(revealed);
+		}
+	}
+	
+	/**
+	 * Returns the numbers that can go in a space: the numbers not revealed in its row, column or 3x3 square.
+	 * @param row the row of the space
+	 * @param col the column of the space
+	 * @return a mask where bit (num - 1) is set if num can go in the space
+	 */
+	public int getCandidates(int row, int col)
+	{
+		return ~(rowMasks[row] | colMasks[col] | squareMasks[(row / 3) * 3 + col / 3]) & 0x1FF;
+	}
+	
+	/**
+	 * Recounts the revealed numbers of every row, column and 3x3 square from the spaces. This is only needed if the spaces were changed
+	 * directly instead of through the board.
+	 */
+	public void updateMasks()
+	{
+		for (int i = 0; i < 9; i++)
+		{
+			rowMasks[i] = 0;
+			colMasks[i] = 0;
+			squareMasks[i] = 0;
+		}
+		for (int i = 0; i < 81; i++)
+		{
+			rowCounts[i] = 0;
+			colCounts[i] = 0;
+			squareCounts[i] = 0;
+		}
+		repeats = 0;
+		for (int i = 0; i < dimensions.length; i++)
+		{
+			for (int j = 0; j < dimensions[0].length; j++)
+			{
+				if (dimensions[i][j] != null && dimensions[i][j].getRevealed())
+				{
+					addRevealed(i, j, dimensions[i][j].getNum());
+				}
+			}
+		}
+	}
+	
+	// A helper function that counts a revealed number in the row, column and square of a space
+	// Numbers outside 1 to 9 (such as the 0 of an empty space) are not counted
+	private void addRevealed(int row, int col, int num)
+	{
+		if (num < 1 || num > 9)
+		{
+			return;
+		}
+		int square = (row / 3) * 3 + col / 3;
+		int bit = 1 << (num - 1);
+		rowMasks[row] |= bit;
+		colMasks[col] |= bit;
+		squareMasks[square] |= bit;
+		if (++rowCounts[row * 9 + num - 1] > 1)
+		{
+			repeats++;
+		}
+		if (++colCounts[col * 9 + num - 1] > 1)
+		{
+			repeats++;
+		}
+		if (++squareCounts[square * 9 + num - 1] > 1)
+		{
+			repeats++;
+		}
+	}
+	
+	// A helper function that takes back addRevealed
+	// A mask bit is only cleared once no revealed space of the row, column or square has the number
+	private void removeRevealed(int row, int col, int num)
+	{
+		if (num < 1 || num > 9)
+		{
+			return;
+		}
+		int square = (row / 3) * 3 + col / 3;
+		int bit = 1 << (num - 1);
+		if (--rowCounts[row * 9 + num - 1] > 0)
+		{
+			repeats--;
+		}
+		else
+		{
+			rowMasks[row] &= ~bit;
+		}
+		if (--colCounts[col * 9 + num - 1] > 0)
+		{
+			repeats--;
+		}
+		else
+		{
+			colMasks[col] &= ~bit;
+		}
+		if (--squareCounts[square * 9 + num - 1] > 0)
+		{
+			repeats--;
+		}
+		else
+		{
+			squareMasks[square] &= ~bit;
+		}
 	}
 
 	public Board<SudokuSpace> copy() 
@@ -189,7 +360,7 @@ public class SudokuBoard implements Board<SudokuSpace>{
 		{
 			for (int j = 0; j < 9; j++)
 			{
-				getPointValue(i, j).setNum(squareList[(i / 3) * 3 + (j / 3)][(i % 3) * 3 + j % 3]);
+				setNum(i, j, squareList[(i / 3) * 3 + (j / 3)][(i % 3) * 3 + j % 3]);
 			}
 		}
 	}
@@ -253,7 +424,7 @@ public class SudokuBoard implements Board<SudokuSpace>{
 		{
 			for (int j = 0; j < getWidth(); j++)
 			{
-				getPointValue(i, j).setRevealed(true);
+				setRevealed(i, j, true);
 			}
 		}
 	}
@@ -310,7 +481,7 @@ public class SudokuBoard implements Board<SudokuSpace>{
 		{
 			int row = ((hideIndices[i] / 9) / 3) * 3 + (hideIndices[i] / 3) % 3;
 			int col = ((hideIndices[i] / 9) % 3) * 3 + hideIndices[i] % 3;
-			getPointValue(row, col).setRevealed(false);
+			setRevealed(row, col, false);
 		}
 	}
 	
@@ -331,109 +502,152 @@ public class SudokuBoard implements Board<SudokuSpace>{
 		{
 			int row = indices[i] / 9;
 			int col = indices[i] % 9;
-			dimensions[row][col].setRevealed(false);
+			setRevealed(row, col, false);
 			if (!hasUniqueSolution())
 			{
-				dimensions[row][col].setRevealed(true);
+				setRevealed(row, col, true);
 			}
 		}
 	}
 	
 	/**
-	 * This algorithm traverses the rows and columns for the first empty space.
-	 * Once it finds an empty space, it attempts to fill it with a legal number and recursively tries to solve the puzzle.
+	 * Chooses how solutions are counted.
+	 * DANCING_LINKS (the default) is much faster on hard puzzles. MASK_SEARCH needs no extra memory.
+	 * @param newSolver MASK_SEARCH or DANCING_LINKS
+	 */
+	public void setSolver(int newSolver)
+	{
+		solver = newSolver;
+	}
+	
+	public int getSolver()
+	{
+		return solver;
+	}
+	
+	/**
+	 * Checks if the puzzle has exactly one solution. Both solvers take back every number they try, so the board is not copied or changed.
 	 * 
 	 * @return True if the puzzle only has one solution
 	 */
 	public boolean hasUniqueSolution()
 	{
-		SudokuSpace[][] testArray = ArrayMethods.copyArray(dimensions);
-		return hasUniqueSolution(testArray) == 0? true : false;
-
+		return countSolutions(2) == 1;
 	}
 	
-	// A helper function for hasUniqueSolution()
+	// A helper function for hasUniqueSolution() that checks the puzzle formed by the revealed spaces of an array
 	// 0 indicates that there is a unique solution
 	// 1 indicates that the puzzle as is can not be solved
 	// 2 indicates that there are multiple solutions
 	public int hasUniqueSolution(SudokuSpace[][] array)
 	{
-		int numSol = 0;
-		boolean[] impossibleNums;
-		boolean emptyFound = false;
-		int emptyRow = -1;
-		int emptyCol = -1;
-		for (int i = 0; i < array.length && !emptyFound; i++) // first, I need to find the first empty space
-		{
-			for (int j = 0; j < array[0].length && !emptyFound; j++)
-			{ 
-				if (!array[i][j].getRevealed()) // found an empty space!
-				{
-					emptyFound = true;
-					emptyRow = i;
-					emptyCol = j;
-				}
-			}
+		int numSol;
+		if (solver == DANCING_LINKS)
+		{
+			numSol = getDancingLinks().countSolutions(array, 2);
 		}
-		if (!emptyFound) // The puzzle is full! (i.e. no empty spaces)
+		else
 		{
-			return 0;
+			SudokuBoard testBoard = new SudokuBoard();
+			testBoard.setDimensions(array);
+			numSol = testBoard.countSolutions(2);
 		}
-		impossibleNums = new boolean[9]; // now we need to mark down which numbers are not allowed
-		for (int i = 0; i < array.length; i++)
+		if (numSol == 0)
 		{
-				if (array[emptyRow][i].getRevealed())
-				{
-					impossibleNums[array[emptyRow][i].getNum() - 1] = true;
-				}
+			return 1;
 		}
-		for (int i = 0; i < array.length; i++) // factor in column numbers
+		return numSol == 1 ? 0 : 2;
+	}
+	
+	/**
+	 * Counts the solutions of the puzzle formed by the revealed spaces, stopping once a limit is reached, with the chosen solver.
+	 * With MASK_SEARCH, the hidden space with the fewest candidates is filled first,
+	 * and the candidates of a space are found with one mask operation.
+	 * 
+	 * @param limit the number of solutions after which the count stops. 2 is enough to tell if a puzzle has one solution.
+	 * @return the number of solutions, at most the limit. 0 if a number is revealed twice in a row, column or square.
+	 */
+	public int countSolutions(int limit)
+	{
+		if (solver == DANCING_LINKS)
 		{
-			if (array[i][emptyCol].getRevealed())
-			{
-				impossibleNums[array[i][emptyCol].getNum() - 1] = true;
-			}
+			return getDancingLinks().countSolutions(dimensions, limit);
 		}
-		int squareRow = emptyRow / 3;
-		int squareCol = emptyCol / 3;
-		for (int i = 0; i < 3; i++) // factor in square numbers
+		if (repeats > 0)
 		{
-			for (int j = 0; j < 3; j++)
-			{
-					if (array[squareRow * 3 + i][squareCol * 3 + j].getRevealed())
-					{
-						impossibleNums[array[squareRow * 3 + i][squareCol * 3 + j].getNum() - 1] = true;
-					}
-			}
+			return 0;
 		}
-		boolean hasLegalNum = false;
-		array[emptyRow][emptyCol].setRevealed(true);
-		for (int i = 0; i < impossibleNums.length; i++) // try all legal numbers
+		int hiddenCount = 0;
+		for (int i = 0; i < dimensions.length; i++)
 		{
-			if (!impossibleNums[i]) // if the number is allowed then try putting it in and recursively solve the puzzle
+			for (int j = 0; j < dimensions[0].length; j++)
 			{
-				hasLegalNum = true;
-				array[emptyRow][emptyCol].setNum(i + 1); // add one because the array is indexed starting at 0
-				int result = hasUniqueSolution(array);
-				if (result == 2) // if there are multiple solutions, return immediately. Don't waste time computing further.
+				if (!dimensions[i][j].getRevealed())
 				{
-					return 2;
-				}
-				if (result == 0) // there is a solution (most of the time this should fail)
-				{
-					if (numSol > 0)
-					{
-						return 2; // there are multiple solutions
-					}
-					numSol++;
+					hiddenSpaces[hiddenCount] = i * 9 + j;
+					hiddenCount++;
 				}
 			}
 		}
-		if (!hasLegalNum) // if no number is possible, then there is no solution
+		return countSolutions(hiddenCount, limit);
+	}
+	
+	// A helper function that returns the dancing links solver, making it the first time
+	private DancingLinks getDancingLinks()
+	{
+		if (dancingLinks == null)
+		{
+			dancingLinks = new DancingLinks();
+		}
+		return dancingLinks;
+	}
+	
+	// A helper function for countSolutions(int) that fills the first hiddenCount spaces of hiddenSpaces
+	// The space it fills is moved to the end of that part of the array, so the deeper calls only see the others
+	private int countSolutions(int hiddenCount, int limit)
+	{
+		if (hiddenCount == 0) // every space is filled
 		{
 			return 1;
 		}
-		return 0; // should get here only when there is one solution
+		int bestIndex = 0;
+		int bestCandidates = 0;
+		int bestCount = 10;
+		for (int i = 0; i < hiddenCount && bestCount > 1; i++) // find the most constrained space
+		{
+			int space = hiddenSpaces[i];
+			int candidates = getCandidates(space / 9, space % 9);
+			int count = Integer.bitCount(candidates);
+			if (count < bestCount)
+			{
+				bestIndex = i;
+				bestCandidates = candidates;
+				bestCount = count;
+			}
+		}
+		if (bestCount == 0) // no number fits, so there is no solution
+		{
+			return 0;
+		}
+		int space = hiddenSpaces[bestIndex];
+		hiddenSpaces[bestIndex] = hiddenSpaces[hiddenCount - 1];
+		hiddenSpaces[hiddenCount - 1] = space;
+		int row = space / 9;
+		int col = space % 9;
+		int square = (row / 3) * 3 + col / 3;
+		int numSol = 0;
+		for (int candidates = bestCandidates; candidates != 0 && numSol < limit; candidates &= candidates - 1)
+		{
+			int bit = Integer.lowestOneBit(candidates);
+			rowMasks[row] |= bit;
+			colMasks[col] |= bit;
+			squareMasks[square] |= bit;
+			numSol += countSolutions(hiddenCount - 1, limit - numSol);
+			rowMasks[row] &= ~bit;
+			colMasks[col] &= ~bit;
+			squareMasks[square] &= ~bit;
+		}
+		return numSol;
 	}
 	
 	public String squareToString(int[][] squareList)
@@ -6,7 +6,6 @@ import java.awt.Rectangle;
 import java.awt.geom.Line2D;
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 
 import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
@@ -270,15 +269,18 @@ public class SudokuComponentApplet extends JComponent {
 					}
 					else
 					{
-						ArrayList<Integer> possibleNums = space.getPossibleNums();
-						if (!possibleNums.isEmpty())
+						int possibleMask = space.getPossibleMask();
+						if (possibleMask != 0)
 						{
-							String s = "";
-							for (Integer integer : possibleNums)
+							StringBuilder s = new StringBuilder();
+							for (int num = 1; num <= 9; num++)
 							{
-								s += integer + " ";
+								if ((possibleMask & (1 << (num - 1))) != 0)
+								{
+									s.append(num).append(' ');
+								}
 							}
-							g2.drawString(s, (int) (j * pointSize +  pointSize * .1), (int) (i * pointSize + pointSize * .25));
+							g2.drawString(s.toString(), (int) (j * pointSize +  pointSize * .1), (int) (i * pointSize + pointSize * .25));
 						}
 					}
 				}
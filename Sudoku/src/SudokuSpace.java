@@ -5,7 +5,7 @@ public class SudokuSpace {
 
 	private int number;
 	private int playerGuess;
-	private ArrayList<Integer> possibleNums;
+	private int possibleMask; // the player's pencil marks: bit (num - 1) is set if num is marked
 	private boolean revealed;
 	
 	public SudokuSpace(int num)
@@ -13,7 +13,7 @@ public class SudokuSpace {
 		number = num;
 		revealed = true;
 		playerGuess = 0;
-		possibleNums = new ArrayList<Integer>();
+		possibleMask = 0;
 	}
 	
 	public int getNum()
@@ -26,11 +26,39 @@ public class SudokuSpace {
 		return playerGuess;
 	}
 	
+	/**
+	 * Returns the pencil marks in increasing order. getPossibleMask is faster.
+	 * @return a new list of the marked numbers
+	 */
 	public ArrayList<Integer> getPossibleNums()
 	{
+		ArrayList<Integer> possibleNums = new ArrayList<Integer>(Integer.bitCount(possibleMask));
+		for (int mask = possibleMask; mask != 0; mask &= mask - 1)
+		{
+			possibleNums.add(Integer.numberOfTrailingZeros(mask) + 1);
+		}
 		return possibleNums;
 	}
 	
+	/**
+	 * Returns the pencil marks as a mask.
+	 * @return a mask where bit (num - 1) is set if num is marked
+	 */
+	public int getPossibleMask()
+	{
+		return possibleMask;
+	}
+	
+	/**
+	 * Returns whether or not a number is marked.
+	 * @param num the number, from 1 to 9
+	 * @return true if the number is marked
+	 */
+	public boolean hasPossible(int num)
+	{
+		return (possibleMask & (1 << (num - 1))) != 0;
+	}
+	
 	public boolean getRevealed()
 	{
 		return revealed;
@@ -38,15 +66,12 @@ public class SudokuSpace {
 	
 	public void addPossible(int num)
 	{
-		if (!possibleNums.contains(num))
-		{
-			possibleNums.add(num);
-		}
+		possibleMask |= 1 << (num - 1);
 	}
 	
 	public void removePossible(int num)
 	{
-		possibleNums.remove((Object) num);
+		possibleMask &= ~(1 << (num - 1));
 	}
 	public void setNum(int newNum)
 	{
@@ -68,11 +93,7 @@ public class SudokuSpace {
 		SudokuSpace newSpace = new SudokuSpace(getNum());
 		newSpace.setGuess(getGuess());
 		newSpace.setRevealed(getRevealed());
-		ArrayList<Integer> origNums = getPossibleNums();
-		for (int i = 0; i < origNums.size(); i++)
-		{
-			newSpace.addPossible(origNums.get(i));
-		}
+		newSpace.possibleMask = possibleMask;
 		return newSpace;
 	}
 }